@@ -0,0 +1,72 @@
+package com.example.serviceconsumer.benchmarks;
+
+import com.example.serviceconsumer.model.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing the /api/process-data success body ({@link ApiResponse}) as JSON,
+ * with an ObjectMapper configured the way Spring Boot configures the one
+ * used by the message converters.
+ * 
+ * - build: ApiResponse.builder() ... build(), as the controllers do per request
+ * - serialize: writing an already built response to a byte stream
+ * - buildAndSerialize: both, i.e. what one request costs
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ApiResponse response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        response = build();
+    }
+
+    @Benchmark
+    public ApiResponse build() {
+        return ApiResponse.builder()
+                .status("success")
+                .data("Data from SlowDependency")
+                .message("Data processed successfully")
+                .timestamp(LocalDateTime.now())
+                .processingTimeMs(12L)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        objectMapper.writeValue(out, response);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] buildAndSerialize() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        objectMapper.writeValue(out, build());
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.serviceconsumer.benchmarks;
+
+import com.example.serviceconsumer.ServiceConsumerApplication;
+import com.example.serviceconsumer.benchmarks.stub.StubDependencyServer;
+import com.example.serviceconsumer.service.DependencyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One uncached SlowDependency call through DependencyService, against a
+ * healthy {@link StubDependencyServer} (no latency, no faults) on loopback.
+ * 
+ * The whole application is started (on a random port) so the call goes through
+ * the real beans: circuit breaker, bulkhead, pooled HttpClient or NIO client,
+ * request ID interceptor and streaming response parsing. Cache, coalescing and
+ * hedging are turned off, since with them most calls would never reach the
+ * client. What is left is the per-call overhead of the client side plus a
+ * loopback round trip.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DependencyServiceBenchmark {
+
+    @Param({"blocking", "nio"})
+    private String clientMode;
+
+    private StubDependencyServer stub;
+    private ConfigurableApplicationContext context;
+    private DependencyService dependencyService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        stub = new StubDependencyServer(0);
+        context = new SpringApplicationBuilder(ServiceConsumerApplication.class)
+                .properties(
+                        "server.port=0",
+                        "control-plane.enabled=false",
+                        "dependency.service.url=" + stub.getUrl(),
+                        "dependency.client.mode=" + clientMode,
+                        "dependency.cache.enabled=false",
+                        "dependency.coalescing.enabled=false",
+                        "dependency.hedging.enabled=false",
+                        "logging.level.com.example.serviceconsumer=WARN")
+                .run();
+        dependencyService = context.getBean(DependencyService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        stub.close();
+    }
+
+    @Benchmark
+    public String fetchDataFromDependency() {
+        return dependencyService.fetchDataFromDependency();
+    }
+}
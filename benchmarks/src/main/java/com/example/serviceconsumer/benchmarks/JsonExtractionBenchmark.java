@@ -0,0 +1,83 @@
+package com.example.serviceconsumer.benchmarks;
+
+import com.example.serviceconsumer.client.JsonFieldExtractor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the message out of a SlowDependency response: Map deserialization
+ * (the previous RestTemplate.getForObject(url, Map.class) path) against
+ * streaming extraction with {@link JsonFieldExtractor}.
+ * 
+ * Payloads:
+ * - small: the usual response, a handful of scalar fields
+ * - large: the same plus a 1000-element array of objects ahead of the
+ *   message, which streaming extraction has to skip
+ * 
+ * Compare gc.alloc.rate.norm (bytes allocated per call; GC profiler is on by default).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonExtractionBenchmark {
+
+    @Param({"small", "large"})
+    private String payload;
+
+    private ObjectMapper objectMapper;
+    private JsonFieldExtractor extractor;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        extractor = new JsonFieldExtractor(objectMapper.getFactory(), "message");
+
+        StringBuilder json = new StringBuilder("{\"path\":\"/api/data\",");
+        if ("large".equals(payload)) {
+            json.append("\"items\":[");
+            for (int i = 0; i < 1000; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append("{\"id\":").append(i)
+                        .append(",\"name\":\"item-").append(i)
+                        .append("\",\"tags\":[\"a\",\"b\"],\"price\":").append(i * 0.25).append('}');
+            }
+            json.append("],");
+        }
+        json.append("\"message\":\"Data from SlowDependency\",")
+                .append("\"rid\":\"4f1c2a9e-8d3b-4c57-9a61-0e2f7b5d8c13\"}");
+        body = json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Object mapDeserialization() throws IOException {
+        Map<?, ?> response = objectMapper.readValue(new ByteArrayInputStream(body), Map.class);
+        return response.get("message");
+    }
+
+    @Benchmark
+    public String streamingExtraction() throws IOException {
+        return extractor.extract(new ByteArrayInputStream(body));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.serviceconsumer.benchmarks;
+
+import com.example.serviceconsumer.concurrent.CompactRequestIdGenerator;
+import com.example.serviceconsumer.concurrent.RequestIdGenerator;
+import com.example.serviceconsumer.concurrent.UuidRequestIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generating IDs for requests without X-Request-ID: random UUIDs (one shared,
+ * synchronized SecureRandom) against {@link CompactRequestIdGenerator}, at 1,
+ * 8 and 64 threads calling the same generator.
+ * 
+ * Throughput is reported per thread; multiply by the thread count for the
+ * total. Compare gc.alloc.rate.norm for bytes allocated per ID.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestIdBenchmark {
+
+    private final RequestIdGenerator uuid = new UuidRequestIdGenerator();
+    private final RequestIdGenerator compact = new CompactRequestIdGenerator(-1);
+
+    @Benchmark
+    @Threads(1)
+    public String uuid1Thread() {
+        return uuid.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String uuid8Threads() {
+        return uuid.nextId();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public String uuid64Threads() {
+        return uuid.nextId();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String compact1Thread() {
+        return compact.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String compact8Threads() {
+        return compact.nextId();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public String compact64Threads() {
+        return compact.nextId();
+    }
+}
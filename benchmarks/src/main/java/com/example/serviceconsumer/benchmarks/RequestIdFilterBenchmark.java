@@ -0,0 +1,83 @@
+package com.example.serviceconsumer.benchmarks;
+
+import com.example.serviceconsumer.concurrent.CompactRequestIdGenerator;
+import com.example.serviceconsumer.filter.RequestIdFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pass through {@link RequestIdFilter}: request ID from the header or the
+ * generator, MDC put/clear, header echo and deadline start.
+ * 
+ * Each operation builds a fresh mock request, response and chain, as a real
+ * request would arrive fresh. mockRequestOnly measures just that, so subtract
+ * it from requestIdFilter (time and gc.alloc.rate.norm) for the filter's own cost.
+ * 
+ * Params:
+ * - requestIdHeader: whether the client sent X-Request-ID or one is generated
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestIdFilterBenchmark {
+
+    @Param({"true", "false"})
+    private boolean requestIdHeader;
+
+    private RequestIdFilter filter;
+
+    @Setup
+    public void setUp() {
+        filter = new RequestIdFilter();
+        ReflectionTestUtils.setField(filter, "deadlineEnabled", true);
+        ReflectionTestUtils.setField(filter, "maxTimeout", 30000L);
+        ReflectionTestUtils.setField(filter, "defaultTimeout", 0L);
+        ReflectionTestUtils.setField(filter, "endpointTimeouts", Collections.singletonMap("/api/process-data", 3000L));
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(filter, "requestIdGenerator", new CompactRequestIdGenerator(-1));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse requestIdFilter() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(newRequest(), response, new MockFilterChain());
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse mockRequestOnly() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain().doFilter(newRequest(), response);
+        return response;
+    }
+
+    private MockHttpServletRequest newRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/process-data");
+        if (requestIdHeader) {
+            request.addHeader(RequestIdFilter.REQUEST_ID_HEADER, "4f1c2a9e-8d3b-4c57-9a61-0e2f7b5d8c13");
+        }
+        return request;
+    }
+}
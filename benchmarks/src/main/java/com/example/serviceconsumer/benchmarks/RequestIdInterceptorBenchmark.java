@@ -0,0 +1,84 @@
+package com.example.serviceconsumer.benchmarks;
+
+import com.example.serviceconsumer.concurrent.RequestDeadline;
+import com.example.serviceconsumer.filter.RequestIdFilter;
+import com.example.serviceconsumer.interceptor.RestTemplateRequestIdInterceptor;
+import com.example.serviceconsumer.monitor.LatencyMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One outbound call through {@link RestTemplateRequestIdInterceptor}, with the
+ * HTTP exchange itself replaced by a canned 200 response: request ID and
+ * deadline headers, debug logging and recording into the outbound latency
+ * histograms.
+ * 
+ * Params:
+ * - deadline: whether the calling request has a deadline to forward
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RequestIdInterceptorBenchmark {
+
+    private static final URI DEPENDENCY_URI = URI.create("http://localhost:8081/api/data");
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    @Param({"true", "false"})
+    private boolean deadline;
+
+    private RestTemplateRequestIdInterceptor interceptor;
+    private ClientHttpRequestExecution execution;
+
+    @Setup
+    public void setUp() {
+        interceptor = new RestTemplateRequestIdInterceptor();
+        ReflectionTestUtils.setField(interceptor, "latencyMetrics", new LatencyMetrics(60000, 2, 6, 10000));
+
+        ClientHttpResponse response = new MockClientHttpResponse(EMPTY_BODY, HttpStatus.OK);
+        execution = (request, body) -> response;
+
+        // The interceptor runs inside a request; JMH runs it on this state's thread
+        MDC.put(RequestIdFilter.REQUEST_ID_MDC_KEY, "4f1c2a9e-8d3b-4c57-9a61-0e2f7b5d8c13");
+        if (deadline) {
+            // Far enough out not to expire during the run
+            RequestDeadline.start(TimeUnit.HOURS.toMillis(1));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        MDC.clear();
+        RequestDeadline.clear();
+    }
+
+    @Benchmark
+    public ClientHttpResponse intercept() throws IOException {
+        return interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, DEPENDENCY_URI), EMPTY_BODY, execution);
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.serviceconsumer.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load generator for ServiceConsumer, replacing the one-curl-per-request
+ * load-test.sh with a steady arrival rate and latency percentiles.
+ * 
+ * Runs any number of targets at the same time, each open loop (fixed request
+ * rate, latency measured from the intended send time) or closed loop (fixed
+ * number of users); see {@link LoadTarget}. Prints percentiles per target every
+ * report interval and for the whole run, and writes the run as JSON.
+ * 
+ * Usage:
+ * java -cp target/benchmarks.jar com.example.serviceconsumer.benchmarks.load.LoadGenerator [options]
+ * 
+ * --url http://localhost:8080       Base URL of the service
+ * --target /api/process-data:rate=50  Open loop, 50 requests/s (repeatable)
+ * --target /api/health:users=4      Closed loop, 4 users (repeatable)
+ * --duration 60                     Seconds of load
+ * --timeout 30000                   Connect and socket timeout per request (ms)
+ * --report-interval 5               Seconds between interval reports
+ * --json target/load-result.json    Where to write the JSON summary
+ * 
+ * Without --target, /api/process-data runs at 50 req/s and /api/health at 10 req/s.
+ */
+public class LoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = "http://localhost:8080";
+        List<String> targetSpecs = new ArrayList<>();
+        int durationSeconds = 60;
+        int timeoutMs = 30000;
+        int reportIntervalSeconds = 5;
+        String jsonFile = "target/load-result.json";
+
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--url":
+                    baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                    break;
+                case "--target":
+                    targetSpecs.add(value);
+                    break;
+                case "--duration":
+                    durationSeconds = Integer.parseInt(value);
+                    break;
+                case "--timeout":
+                    timeoutMs = Integer.parseInt(value);
+                    break;
+                case "--report-interval":
+                    reportIntervalSeconds = Integer.parseInt(value);
+                    break;
+                case "--json":
+                    jsonFile = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+        if (targetSpecs.isEmpty()) {
+            targetSpecs.add("/api/process-data:rate=50");
+            targetSpecs.add("/api/health:rate=10");
+        }
+
+        List<LoadTarget> targets = new ArrayList<>();
+        for (String spec : targetSpecs) {
+            targets.add(LoadTarget.parse(baseUrl, spec));
+        }
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(timeoutMs)
+                .setSocketTimeout(timeoutMs)
+                .setConnectionRequestTimeout(timeoutMs)
+                .build();
+
+        // Connections are not the limit here: an open loop must be able to have every late request outstanding
+        try (CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                .setDefaultRequestConfig(requestConfig)
+                .setMaxConnTotal(20000)
+                .setMaxConnPerRoute(20000)
+                .build()) {
+            client.start();
+            run(client, targets, durationSeconds, reportIntervalSeconds, timeoutMs, baseUrl, jsonFile);
+        }
+    }
+
+    private static void run(CloseableHttpAsyncClient client, List<LoadTarget> targets, int durationSeconds,
+                            int reportIntervalSeconds, int timeoutMs, String baseUrl, String jsonFile)
+            throws Exception {
+        System.out.printf("Load on %s for %ds:%n", baseUrl, durationSeconds);
+        for (LoadTarget target : targets) {
+            System.out.printf("  %-24s %s%n", target.getPath(), target.describe());
+        }
+
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long end = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        List<Thread> schedulers = new ArrayList<>();
+        for (LoadTarget target : targets) {
+            Thread scheduler = new Thread(() -> target.run(client, start, end), "load-" + target.getPath());
+            scheduler.start();
+            schedulers.add(scheduler);
+        }
+
+        long reportNanos = TimeUnit.SECONDS.toNanos(reportIntervalSeconds);
+        for (long next = start + reportNanos; next < end; next += reportNanos) {
+            TimeUnit.NANOSECONDS.sleep(next - System.nanoTime());
+            System.out.printf("%n[%3ds]%n", TimeUnit.NANOSECONDS.toSeconds(next - start));
+            for (LoadTarget target : targets) {
+                printInterval(target, target.takeInterval(), reportIntervalSeconds);
+            }
+        }
+
+        for (Thread scheduler : schedulers) {
+            scheduler.join();
+        }
+        for (LoadTarget target : targets) {
+            if (!target.awaitCompletion(timeoutMs + 1000L)) {
+                System.out.printf("%s: %d requests still outstanding, left out%n",
+                        target.getPath(), target.getOutstanding());
+            }
+            target.takeInterval();
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("url", baseUrl);
+        result.put("durationSeconds", durationSeconds);
+        result.put("timestamp", LocalDateTime.now().toString());
+        List<Map<String, Object>> summaries = new ArrayList<>();
+
+        System.out.printf("%n=== Summary ===%n");
+        for (LoadTarget target : targets) {
+            Map<String, Object> summary = target.summary();
+            summaries.add(summary);
+            printSummary(summary);
+        }
+        result.put("targets", summaries);
+
+        File file = new File(jsonFile);
+        if (file.getAbsoluteFile().getParentFile() != null) {
+            file.getAbsoluteFile().getParentFile().mkdirs();
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, result);
+        System.out.printf("%nResults written to %s%n", file.getPath());
+    }
+
+    private static void printInterval(LoadTarget target, Histogram interval, int seconds) {
+        System.out.printf("  %-24s %7.1f req/s  p50 %9.1fms  p99 %9.1fms  max %9.1fms  outstanding %d%n",
+                target.getPath(),
+                interval.getTotalCount() / (double) seconds,
+                interval.getValueAtPercentile(50) / 1000.0,
+                interval.getValueAtPercentile(99) / 1000.0,
+                interval.getMaxValue() / 1000.0,
+                target.getOutstanding());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printSummary(Map<String, Object> summary) {
+        Map<String, Object> latency = (Map<String, Object>) summary.get("latencyMs");
+        System.out.printf("%s (%s)%n", summary.get("path"), summary.get("mode"));
+        System.out.printf("  sent %s, completed %s, failed %s, status %s, %.1f req/s%n",
+                summary.get("sent"), summary.get("completed"), summary.get("failed"),
+                summary.get("status"), (Double) summary.get("throughput"));
+        System.out.printf("  latency ms: mean %.1f  p50 %.1f  p90 %.1f  p99 %.1f  p99.9 %.1f  p99.99 %.1f  max %.1f%n",
+                latency.get("mean"), latency.get("p50"), latency.get("p90"), latency.get("p99"),
+                latency.get("p99.9"), latency.get("p99.99"), latency.get("max"));
+    }
+}
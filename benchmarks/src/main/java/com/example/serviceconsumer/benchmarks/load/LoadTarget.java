@@ -0,0 +1,249 @@
+package com.example.serviceconsumer.benchmarks.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load on one endpoint, either open or closed loop.
+ * 
+ * - Open loop (rate=N): requests are sent on a fixed schedule of N per second
+ *   no matter how many are still outstanding, like independent clients. Each
+ *   request's latency is measured from its intended send time, so when the
+ *   service (or this generator) falls behind, the time requests spent waiting
+ *   to be sent counts too (no coordinated omission).
+ * - Closed loop (users=N): N users each send a request, wait for the answer and
+ *   send the next one. Latency is measured from the actual send; throughput
+ *   drops when the service slows down, which is what closed-loop clients see.
+ * 
+ * Every response, whatever its status, and every failed request (connect or
+ * socket timeout) is recorded in the latency histogram. Statuses are counted
+ * separately.
+ */
+class LoadTarget {
+
+    enum Mode {
+        OPEN, CLOSED
+    }
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final String path;
+    private final String url;
+    private final Mode mode;
+    private final int value;
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final AtomicLong outstanding = new AtomicLong();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder[] statusClasses = new LongAdder[6];
+
+    private volatile long endNanos;
+    private long startNanos;
+    private long finishedNanos;
+
+    /**
+     * @param spec {@code <path>:rate=<requests per second>} or {@code <path>:users=<count>}
+     */
+    static LoadTarget parse(String baseUrl, String spec) {
+        int separator = spec.lastIndexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Expected <path>:rate=<n> or <path>:users=<n>, got " + spec);
+        }
+        String path = spec.substring(0, separator);
+        String[] setting = spec.substring(separator + 1).split("=", 2);
+        if (setting.length != 2) {
+            throw new IllegalArgumentException("Expected rate=<n> or users=<n> in " + spec);
+        }
+
+        int value = Integer.parseInt(setting[1].trim());
+        if (value < 1) {
+            throw new IllegalArgumentException("rate/users must be at least 1 in " + spec);
+        }
+        switch (setting[0].trim()) {
+            case "rate":
+                return new LoadTarget(baseUrl, path, Mode.OPEN, value);
+            case "users":
+                return new LoadTarget(baseUrl, path, Mode.CLOSED, value);
+            default:
+                throw new IllegalArgumentException("Expected rate=<n> or users=<n> in " + spec);
+        }
+    }
+
+    private LoadTarget(String baseUrl, String path, Mode mode, int value) {
+        this.path = path;
+        this.url = baseUrl + path;
+        this.mode = mode;
+        this.value = value;
+        for (int i = 0; i < statusClasses.length; i++) {
+            statusClasses[i] = new LongAdder();
+        }
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    /**
+     * Generate load until endNanos. Returns immediately in closed-loop mode;
+     * in open-loop mode the calling thread is the request scheduler.
+     */
+    void run(CloseableHttpAsyncClient client, long startNanos, long endNanos) {
+        this.startNanos = startNanos;
+        this.endNanos = endNanos;
+
+        if (mode == Mode.CLOSED) {
+            for (int i = 0; i < value; i++) {
+                sendNext(client);
+            }
+            return;
+        }
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / value;
+        for (long i = 0; ; i++) {
+            long intended = startNanos + i * intervalNanos;
+            if (intended >= endNanos) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // Behind schedule (wait <= 0): send now, the delay counts against the request
+            send(client, intended, null);
+        }
+    }
+
+    private void sendNext(CloseableHttpAsyncClient client) {
+        long now = System.nanoTime();
+        if (now < endNanos) {
+            send(client, now, () -> sendNext(client));
+        }
+    }
+
+    private void send(CloseableHttpAsyncClient client, long intendedNanos, Runnable next) {
+        sent.increment();
+        outstanding.incrementAndGet();
+        client.execute(new HttpGet(url), new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                try {
+                    EntityUtils.consume(response.getEntity());
+                } catch (IOException e) {
+                    // The status line arrived; the body does not matter here
+                }
+                statusClasses[Math.min(response.getStatusLine().getStatusCode() / 100, 5)].increment();
+                done(intendedNanos, next);
+            }
+
+            @Override
+            public void failed(Exception e) {
+                failed.increment();
+                done(intendedNanos, next);
+            }
+
+            @Override
+            public void cancelled() {
+                failed.increment();
+                done(intendedNanos, next);
+            }
+        });
+    }
+
+    private void done(long intendedNanos, Runnable next) {
+        long now = System.nanoTime();
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(now - intendedNanos), HIGHEST_TRACKABLE_MICROS));
+        if (outstanding.decrementAndGet() == 0 && now >= endNanos) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+        if (next != null) {
+            next.run();
+        }
+    }
+
+    /**
+     * Wait until every request sent has completed or failed.
+     *
+     * @return false if some were still outstanding after timeoutMs
+     */
+    synchronized boolean awaitCompletion(long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        long remaining;
+        while (outstanding.get() > 0 && (remaining = deadline - System.currentTimeMillis()) > 0) {
+            wait(remaining);
+        }
+        finishedNanos = System.nanoTime();
+        return outstanding.get() == 0;
+    }
+
+    /**
+     * @return latencies recorded since the previous call, also added to the totals
+     */
+    synchronized Histogram takeInterval() {
+        Histogram interval = recorder.getIntervalHistogram();
+        total.add(interval);
+        return interval;
+    }
+
+    long getOutstanding() {
+        return outstanding.get();
+    }
+
+    String describe() {
+        return mode == Mode.OPEN ? "open loop, " + value + " req/s" : "closed loop, " + value + " users";
+    }
+
+    /**
+     * Summary of the whole run; call after awaitCompletion and a final takeInterval.
+     */
+    Map<String, Object> summary() {
+        double seconds = (Math.max(finishedNanos, endNanos) - startNanos) / 1e9;
+
+        Map<String, Object> statuses = new LinkedHashMap<>();
+        for (int i = 1; i < statusClasses.length; i++) {
+            statuses.put(i + "xx", statusClasses[i].sum());
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("path", path);
+        summary.put("mode", mode.name().toLowerCase());
+        summary.put(mode == Mode.OPEN ? "rate" : "users", value);
+        summary.put("sent", sent.sum());
+        summary.put("completed", total.getTotalCount() - failed.sum());
+        summary.put("failed", failed.sum());
+        summary.put("outstanding", outstanding.get());
+        summary.put("status", statuses);
+        summary.put("throughput", total.getTotalCount() / seconds);
+        summary.put("latencyMs", percentiles(total));
+        return summary;
+    }
+
+    static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("count", histogram.getTotalCount());
+        latency.put("mean", histogram.getMean() / 1000.0);
+        latency.put("p50", histogram.getValueAtPercentile(50) / 1000.0);
+        latency.put("p90", histogram.getValueAtPercentile(90) / 1000.0);
+        latency.put("p99", histogram.getValueAtPercentile(99) / 1000.0);
+        latency.put("p99.9", histogram.getValueAtPercentile(99.9) / 1000.0);
+        latency.put("p99.99", histogram.getValueAtPercentile(99.99) / 1000.0);
+        latency.put("max", histogram.getMaxValue() / 1000.0);
+        return latency;
+    }
+}
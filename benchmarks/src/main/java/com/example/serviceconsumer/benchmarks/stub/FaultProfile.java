@@ -0,0 +1,226 @@
+package com.example.serviceconsumer.benchmarks.stub;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * What the stub does with each request. Immutable; {@link #with(Map)} returns
+ * an updated copy.
+ * 
+ * Settings (the same names are used on the admin endpoint):
+ * - latency: {@link LatencyDistribution} spec applied before answering (default fixed:0)
+ * - resetRate: fraction of requests answered with a TCP reset after the latency
+ * - hangRate: fraction of requests never answered (the connection stays open)
+ * - errorRate / errorStatus: fraction of requests answered with errorStatus (default 500)
+ * - trickleRate / trickleBytes / trickleInterval: fraction of requests whose body
+ *   is sent trickleBytes at a time every trickleInterval ms
+ * - bodySize: pad the JSON body up to this many bytes (0 = no padding)
+ * 
+ * Rates are drawn independently per request, in the order reset, hang, error,
+ * trickle; their sum must not exceed 1.
+ */
+public final class FaultProfile {
+
+    public enum Outcome {
+        OK, ERROR, HANG, RESET, TRICKLE
+    }
+
+    private final LatencyDistribution latency;
+    private final double resetRate;
+    private final double hangRate;
+    private final double errorRate;
+    private final int errorStatus;
+    private final double trickleRate;
+    private final int trickleBytes;
+    private final long trickleInterval;
+    private final int bodySize;
+
+    private FaultProfile(LatencyDistribution latency, double resetRate, double hangRate, double errorRate,
+                         int errorStatus, double trickleRate, int trickleBytes, long trickleInterval, int bodySize) {
+        this.latency = latency;
+        this.resetRate = resetRate;
+        this.hangRate = hangRate;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        this.trickleRate = trickleRate;
+        this.trickleBytes = trickleBytes;
+        this.trickleInterval = trickleInterval;
+        this.bodySize = bodySize;
+    }
+
+    /**
+     * @return a healthy dependency: immediate 200 for every request
+     */
+    public static FaultProfile healthy() {
+        return new FaultProfile(LatencyDistribution.fixed(0), 0, 0, 0, 500, 0, 1, 100, 0);
+    }
+
+    /**
+     * Parse settings in query-string form, e.g. "latency=lognormal:50,0.8&amp;errorRate=0.05".
+     *
+     * @throws IllegalArgumentException on unknown settings or invalid values
+     */
+    public FaultProfile with(String query) {
+        return with(parseQuery(query));
+    }
+
+    /**
+     * @throws IllegalArgumentException on unknown settings or invalid values
+     */
+    public FaultProfile with(Map<String, String> settings) {
+        LatencyDistribution latency = this.latency;
+        double resetRate = this.resetRate;
+        double hangRate = this.hangRate;
+        double errorRate = this.errorRate;
+        int errorStatus = this.errorStatus;
+        double trickleRate = this.trickleRate;
+        int trickleBytes = this.trickleBytes;
+        long trickleInterval = this.trickleInterval;
+        int bodySize = this.bodySize;
+
+        for (Map.Entry<String, String> setting : settings.entrySet()) {
+            String value = setting.getValue();
+            switch (setting.getKey()) {
+                case "latency":
+                    latency = LatencyDistribution.parse(value);
+                    break;
+                case "resetRate":
+                    resetRate = rate(setting.getKey(), value);
+                    break;
+                case "hangRate":
+                    hangRate = rate(setting.getKey(), value);
+                    break;
+                case "errorRate":
+                    errorRate = rate(setting.getKey(), value);
+                    break;
+                case "errorStatus":
+                    errorStatus = atLeast(setting.getKey(), value, 100);
+                    break;
+                case "trickleRate":
+                    trickleRate = rate(setting.getKey(), value);
+                    break;
+                case "trickleBytes":
+                    trickleBytes = atLeast(setting.getKey(), value, 1);
+                    break;
+                case "trickleInterval":
+                    trickleInterval = atLeast(setting.getKey(), value, 1);
+                    break;
+                case "bodySize":
+                    bodySize = atLeast(setting.getKey(), value, 0);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown setting: " + setting.getKey());
+            }
+        }
+
+        if (resetRate + hangRate + errorRate + trickleRate > 1) {
+            throw new IllegalArgumentException("resetRate + hangRate + errorRate + trickleRate must not exceed 1");
+        }
+        return new FaultProfile(latency, resetRate, hangRate, errorRate, errorStatus,
+                trickleRate, trickleBytes, trickleInterval, bodySize);
+    }
+
+    /**
+     * Pick what to do with the next request.
+     */
+    public Outcome pick(Random random) {
+        double draw = random.nextDouble();
+        if ((draw -= resetRate) < 0) {
+            return Outcome.RESET;
+        }
+        if ((draw -= hangRate) < 0) {
+            return Outcome.HANG;
+        }
+        if ((draw -= errorRate) < 0) {
+            return Outcome.ERROR;
+        }
+        if ((draw -= trickleRate) < 0) {
+            return Outcome.TRICKLE;
+        }
+        return Outcome.OK;
+    }
+
+    public LatencyDistribution getLatency() {
+        return latency;
+    }
+
+    public int getErrorStatus() {
+        return errorStatus;
+    }
+
+    public int getTrickleBytes() {
+        return trickleBytes;
+    }
+
+    public long getTrickleInterval() {
+        return trickleInterval;
+    }
+
+    public int getBodySize() {
+        return bodySize;
+    }
+
+    public Map<String, Object> describe() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("latency", latency.toString());
+        settings.put("resetRate", resetRate);
+        settings.put("hangRate", hangRate);
+        settings.put("errorRate", errorRate);
+        settings.put("errorStatus", errorStatus);
+        settings.put("trickleRate", trickleRate);
+        settings.put("trickleBytes", trickleBytes);
+        settings.put("trickleInterval", trickleInterval);
+        settings.put("bodySize", bodySize);
+        return settings;
+    }
+
+    @Override
+    public String toString() {
+        return describe().toString();
+    }
+
+    static Map<String, String> parseQuery(String query) {
+        Map<String, String> settings = new LinkedHashMap<>();
+        if (query == null || query.isEmpty()) {
+            return settings;
+        }
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int equals = pair.indexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("Expected name=value, got " + pair);
+            }
+            settings.put(decode(pair.substring(0, equals)), decode(pair.substring(equals + 1)));
+        }
+        return settings;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double rate(String name, String value) {
+        double rate = Double.parseDouble(value);
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException(name + " must be between 0 and 1, got " + value);
+        }
+        return rate;
+    }
+
+    private static int atLeast(String name, String value, int min) {
+        int parsed = Integer.parseInt(value.trim());
+        if (parsed < min) {
+            throw new IllegalArgumentException(name + " must be at least " + min + ", got " + value);
+        }
+        return parsed;
+    }
+}
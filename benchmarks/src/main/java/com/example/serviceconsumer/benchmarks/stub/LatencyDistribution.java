@@ -0,0 +1,81 @@
+package com.example.serviceconsumer.benchmarks.stub;
+
+import java.util.Random;
+
+/**
+ * How long the stub waits before answering, written as a spec string:
+ * 
+ * - fixed:&lt;ms&gt; - always the same, e.g. fixed:1000
+ * - lognormal:&lt;median ms&gt;,&lt;sigma&gt; - long right tail, e.g. lognormal:50,0.8
+ * - bimodal:&lt;fast ms&gt;,&lt;slow ms&gt;,&lt;slow fraction&gt; - mostly fast with a slow
+ *   minority, e.g. bimodal:10,1000,0.03
+ */
+public final class LatencyDistribution {
+
+    private enum Kind {
+        FIXED, LOGNORMAL, BIMODAL
+    }
+
+    private final Kind kind;
+    private final double[] args;
+    private final String spec;
+
+    private LatencyDistribution(Kind kind, double[] args, String spec) {
+        this.kind = kind;
+        this.args = args;
+        this.spec = spec;
+    }
+
+    public static LatencyDistribution fixed(long millis) {
+        return parse("fixed:" + millis);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the spec is not one of the forms above
+     */
+    public static LatencyDistribution parse(String spec) {
+        String[] parts = spec.trim().split(":", 2);
+        Kind kind;
+        try {
+            kind = Kind.valueOf(parts[0].trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+        }
+
+        String[] values = parts.length > 1 ? parts[1].split(",") : new String[0];
+        int expected = kind == Kind.FIXED ? 1 : kind == Kind.LOGNORMAL ? 2 : 3;
+        if (values.length != expected) {
+            throw new IllegalArgumentException("Expected " + expected + " value(s) in latency " + spec);
+        }
+        double[] args = new double[expected];
+        for (int i = 0; i < expected; i++) {
+            args[i] = Double.parseDouble(values[i].trim());
+            if (args[i] < 0) {
+                throw new IllegalArgumentException("Negative value in latency " + spec);
+            }
+        }
+        if (kind == Kind.BIMODAL && args[2] > 1) {
+            throw new IllegalArgumentException("Slow fraction must be between 0 and 1 in latency " + spec);
+        }
+        return new LatencyDistribution(kind, args, spec.trim());
+    }
+
+    /**
+     * @return a delay in ms drawn from the distribution
+     */
+    public long sampleMillis(Random random) {
+        switch (kind) {
+            case LOGNORMAL:
+                return Math.round(args[0] * Math.exp(args[1] * random.nextGaussian()));
+            case BIMODAL:
+                return Math.round(random.nextDouble() < args[2] ? args[1] : args[0]);
+            default:
+                return Math.round(args[0]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
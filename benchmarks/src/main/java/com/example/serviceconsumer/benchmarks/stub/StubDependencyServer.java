@@ -0,0 +1,608 @@
+package com.example.serviceconsumer.benchmarks.stub;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stand-in for SlowDependency with programmable faults, so every client-side
+ * feature (timeouts, deadlines, circuit breaker, hedging, retries, bulkhead)
+ * can be exercised on one machine without the real service.
+ * 
+ * A minimal HTTP/1.1 server on a single NIO selector thread with keep-alive:
+ * - GET /api/data: {"message": ..., "rid": X-Request-ID} after the latency of the
+ *   current {@link FaultProfile}, or one of its faults (reset, hang, error, trickle)
+ * - GET /admin/faults: current profile and outcome counts
+ * - POST /admin/faults?name=value&amp;...: change settings, e.g.
+ *   curl -X POST 'localhost:8081/admin/faults?latency=bimodal:10,1000,0.03&amp;errorRate=0.01'
+ * - DELETE /admin/faults: back to a healthy dependency, counts reset
+ * 
+ * Hanging requests cost nothing but their connection, and delays and trickled
+ * bodies are driven by a timer, so thousands of slow requests need two threads.
+ * 
+ * In process: new StubDependencyServer(0) on an ephemeral loopback port, then
+ * {@link #configure(String)} or {@link #setProfile(FaultProfile)}. Standalone:
+ * java -cp target/benchmarks.jar com.example.serviceconsumer.benchmarks.stub.StubDependencyServer
+ * --port 8081 [--host 0.0.0.0] [--faults 'latency=lognormal:50,0.8']
+ */
+public class StubDependencyServer implements AutoCloseable {
+
+    public static final String DATA_PATH = "/api/data";
+    public static final String ADMIN_PATH = "/admin/faults";
+
+    private static final int MAX_HEADER_BYTES = 16 * 1024;
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final Thread selectorThread;
+    private final ScheduledExecutorService timer;
+    private final ConcurrentLinkedQueue<Runnable> selectorTasks = new ConcurrentLinkedQueue<>();
+    private final Random random = new Random();
+
+    private final LongAdder requests = new LongAdder();
+    private final Map<FaultProfile.Outcome, LongAdder> outcomes = new EnumMap<>(FaultProfile.Outcome.class);
+
+    private volatile FaultProfile profile = FaultProfile.healthy();
+    private volatile boolean running = true;
+
+    /**
+     * Start on the loopback interface.
+     *
+     * @param port Port to listen on, 0 for an ephemeral one
+     */
+    public StubDependencyServer(int port) throws IOException {
+        this(InetAddress.getLoopbackAddress().getHostAddress(), port);
+    }
+
+    public StubDependencyServer(String host, int port) throws IOException {
+        for (FaultProfile.Outcome outcome : FaultProfile.Outcome.values()) {
+            outcomes.put(outcome, new LongAdder());
+        }
+
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(host, port), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stub-dependency-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        selectorThread = new Thread(this::selectLoop, "stub-dependency-selector");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String host = "0.0.0.0";
+        int port = 8081;
+        String faults = "";
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--host":
+                    host = args[i + 1];
+                    break;
+                case "--port":
+                    port = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--faults":
+                    faults = args[i + 1];
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        StubDependencyServer server = new StubDependencyServer(host, port);
+        server.configure(faults);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        System.out.printf("Stub SlowDependency on http://%s:%d%s, admin on %s%n  %s%n",
+                host, server.getPort(), DATA_PATH, ADMIN_PATH, server.getProfile());
+        server.selectorThread.join();
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * @return URL of /api/data, for dependency.service.url
+     */
+    public String getUrl() {
+        return "http://" + serverChannel.socket().getInetAddress().getHostAddress() + ":" + getPort() + DATA_PATH;
+    }
+
+    public FaultProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Replace the profile; applies to requests arriving from now on.
+     */
+    public void setProfile(FaultProfile profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * Change settings of the current profile, in the admin endpoint's query-string form.
+     */
+    public synchronized void configure(String settings) {
+        profile = profile.with(settings);
+    }
+
+    /**
+     * @return requests per outcome since start or the last reset
+     */
+    public Map<String, Long> getCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("requests", requests.sum());
+        for (Map.Entry<FaultProfile.Outcome, LongAdder> outcome : outcomes.entrySet()) {
+            counts.put(outcome.getKey().name().toLowerCase(), outcome.getValue().sum());
+        }
+        return counts;
+    }
+
+    public void resetCounts() {
+        requests.reset();
+        outcomes.values().forEach(LongAdder::reset);
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        timer.shutdownNow();
+        try {
+            selectorThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void selectLoop() {
+        try {
+            while (running) {
+                selector.select();
+
+                Runnable task;
+                while ((task = selectorTasks.poll()) != null) {
+                    task.run();
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    try {
+                        if (key.isReadable()) {
+                            connection.read();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.write();
+                        }
+                    } catch (IOException e) {
+                        connection.close();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Stub dependency selector failed: " + e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            closeQuietly(serverChannel);
+            closeQuietly(selector);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            key.attach(new Connection(channel, key));
+        }
+    }
+
+    /**
+     * Run on the selector thread after delayMs.
+     */
+    private void schedule(Runnable task, long delayMs) {
+        if (!running) {
+            return;
+        }
+        if (delayMs <= 0) {
+            task.run();
+            return;
+        }
+        timer.schedule(() -> {
+            selectorTasks.add(task);
+            selector.wakeup();
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void dispatch(Connection connection, Request request) {
+        if (DATA_PATH.equals(request.path)) {
+            serveData(connection, request);
+        } else if (ADMIN_PATH.equals(request.path)) {
+            serveAdmin(connection, request);
+        } else {
+            connection.respond(404, json(error("No handler for " + request.path)), request.keepAlive);
+        }
+    }
+
+    private void serveData(Connection connection, Request request) {
+        FaultProfile current = profile;
+        FaultProfile.Outcome outcome = current.pick(random);
+        requests.increment();
+        outcomes.get(outcome).increment();
+
+        if (outcome == FaultProfile.Outcome.HANG) {
+            // Never answered; the connection is closed when the client gives up
+            return;
+        }
+
+        long delay = current.getLatency().sampleMillis(random);
+        schedule(() -> {
+            switch (outcome) {
+                case RESET:
+                    connection.reset();
+                    break;
+                case ERROR:
+                    connection.respond(current.getErrorStatus(), json(error("Injected failure")), request.keepAlive);
+                    break;
+                case TRICKLE:
+                    byte[] body = dataBody(current, request);
+                    connection.sendHeaders(200, body.length, request.keepAlive);
+                    trickle(connection, current, body, 0);
+                    break;
+                default:
+                    connection.respond(200, dataBody(current, request), request.keepAlive);
+                    break;
+            }
+        }, delay);
+    }
+
+    private void trickle(Connection connection, FaultProfile current, byte[] body, int offset) {
+        if (!connection.isOpen()) {
+            return;
+        }
+        int end = Math.min(body.length, offset + current.getTrickleBytes());
+        boolean last = end == body.length;
+        connection.send(ByteBuffer.wrap(body, offset, end - offset), last);
+        if (!last) {
+            schedule(() -> trickle(connection, current, body, end), current.getTrickleInterval());
+        }
+    }
+
+    private void serveAdmin(Connection connection, Request request) {
+        try {
+            switch (request.method) {
+                case "GET":
+                    break;
+                case "POST":
+                case "PUT":
+                    configure(request.query);
+                    break;
+                case "DELETE":
+                    setProfile(FaultProfile.healthy());
+                    resetCounts();
+                    break;
+                default:
+                    connection.respond(405, json(error("Use GET, POST or DELETE")), request.keepAlive);
+                    return;
+            }
+        } catch (IllegalArgumentException e) {
+            connection.respond(400, json(error(e.getMessage())), request.keepAlive);
+            return;
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("profile", profile.describe());
+        body.put("counts", getCounts());
+        connection.respond(200, json(body), request.keepAlive);
+    }
+
+    private static byte[] dataBody(FaultProfile current, Request request) {
+        String rid = request.headers.getOrDefault("x-request-id", "");
+        StringBuilder body = new StringBuilder(Math.max(128, current.getBodySize()))
+                .append("{\"path\":\"").append(DATA_PATH)
+                .append("\",\"message\":\"Data from SlowDependency (stub)\",\"rid\":\"")
+                .append(rid.replace("\\", "").replace("\"", ""))
+                .append('"');
+
+        int padding = current.getBodySize() - body.length() - "\"padding\":\"\"}".length() - 1;
+        if (padding > 0) {
+            body.append(",\"padding\":\"");
+            for (int i = 0; i < padding; i++) {
+                body.append('x');
+            }
+            body.append('"');
+        }
+        return body.append('}').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, Object> error(String message) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("error", message);
+        return error;
+    }
+
+    private static byte[] json(Object body) {
+        try {
+            return JSON.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        if (key.attachment() instanceof Connection) {
+            ((Connection) key.attachment()).close();
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // Shutting down
+        }
+    }
+
+    private static final class Request {
+        private String method;
+        private String path;
+        private String query;
+        private boolean keepAlive;
+        private final Map<String, String> headers = new HashMap<>();
+    }
+
+    /**
+     * One client connection. Only touched on the selector thread.
+     * Requests are served one at a time; pipelined ones wait in the input buffer.
+     */
+    private final class Connection {
+
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final ByteBuffer input = ByteBuffer.allocate(MAX_HEADER_BYTES);
+        private final ArrayDeque<ByteBuffer> output = new ArrayDeque<>();
+
+        private boolean busy;
+        private boolean lastQueued;
+        private boolean closeAfterResponse;
+
+        private Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        private boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        private void read() throws IOException {
+            if (channel.read(input) < 0) {
+                close();
+                return;
+            }
+            if (!busy) {
+                processInput();
+            } else if (!input.hasRemaining()) {
+                // Client keeps sending while its request is hanging; stop reading until it is answered
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+            }
+        }
+
+        private void processInput() {
+            input.flip();
+            int headerEnd = indexOfHeaderEnd();
+            if (headerEnd < 0) {
+                boolean full = input.limit() == input.capacity();
+                input.compact();
+                if (full) {
+                    respond(431, json(error("Request headers too large")), false);
+                }
+                return;
+            }
+
+            byte[] head = new byte[headerEnd - input.position()];
+            input.get(head);
+            input.position(headerEnd + 4);
+            Request request = parse(new String(head, StandardCharsets.ISO_8859_1));
+            busy = true;
+            if (request == null) {
+                input.clear();
+                respond(400, json(error("Malformed request")), false);
+                return;
+            }
+
+            // Request bodies are ignored (admin settings come in the query string)
+            int contentLength = parseContentLength(request);
+            if (contentLength > input.remaining()) {
+                // Not worth buffering; skip what arrived and close after answering
+                contentLength = input.remaining();
+                closeAfterResponse = true;
+            }
+            input.position(input.position() + contentLength);
+            input.compact();
+
+            key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+            dispatch(this, request);
+        }
+
+        private int parseContentLength(Request request) {
+            try {
+                return Math.max(0, Integer.parseInt(request.headers.getOrDefault("content-length", "0").trim()));
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+
+        private int indexOfHeaderEnd() {
+            for (int i = input.position(); i + 3 < input.limit(); i++) {
+                if (input.get(i) == '\r' && input.get(i + 1) == '\n'
+                        && input.get(i + 2) == '\r' && input.get(i + 3) == '\n') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private Request parse(String head) {
+            String[] lines = head.split("\r\n");
+            String[] requestLine = lines[0].split(" ");
+            if (requestLine.length != 3) {
+                return null;
+            }
+
+            Request request = new Request();
+            request.method = requestLine[0];
+            String target = requestLine[1];
+            int question = target.indexOf('?');
+            request.path = question < 0 ? target : target.substring(0, question);
+            request.query = question < 0 ? "" : target.substring(question + 1);
+
+            for (int i = 1; i < lines.length; i++) {
+                int colon = lines[i].indexOf(':');
+                if (colon > 0) {
+                    request.headers.put(lines[i].substring(0, colon).trim().toLowerCase(),
+                            lines[i].substring(colon + 1).trim());
+                }
+            }
+
+            String connection = request.headers.getOrDefault("connection", "");
+            request.keepAlive = "HTTP/1.1".equals(requestLine[2])
+                    ? !"close".equalsIgnoreCase(connection)
+                    : "keep-alive".equalsIgnoreCase(connection);
+            return request;
+        }
+
+        private void respond(int status, byte[] body, boolean keepAlive) {
+            sendHeaders(status, body.length, keepAlive);
+            send(ByteBuffer.wrap(body), true);
+        }
+
+        private void sendHeaders(int status, int contentLength, boolean keepAlive) {
+            if (!keepAlive) {
+                closeAfterResponse = true;
+            }
+            String headers = "HTTP/1.1 " + status + " " + reason(status) + "\r\n"
+                    + "Content-Type: application/json\r\n"
+                    + "Content-Length: " + contentLength + "\r\n"
+                    + (closeAfterResponse ? "Connection: close\r\n" : "")
+                    + "\r\n";
+            send(ByteBuffer.wrap(headers.getBytes(StandardCharsets.ISO_8859_1)), false);
+        }
+
+        private void send(ByteBuffer buffer, boolean last) {
+            if (!isOpen()) {
+                return;
+            }
+            output.add(buffer);
+            lastQueued |= last;
+            try {
+                write();
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        private void write() throws IOException {
+            while (!output.isEmpty()) {
+                ByteBuffer head = output.peek();
+                channel.write(head);
+                if (head.hasRemaining()) {
+                    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                    return;
+                }
+                output.poll();
+            }
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+
+            if (lastQueued) {
+                lastQueued = false;
+                busy = false;
+                if (closeAfterResponse) {
+                    close();
+                } else if (input.position() > 0) {
+                    processInput();
+                }
+            }
+        }
+
+        /**
+         * Close with a TCP RST instead of a FIN.
+         */
+        private void reset() {
+            try {
+                channel.socket().setSoLinger(true, 0);
+            } catch (IOException e) {
+                // Falls back to a normal close
+            }
+            close();
+        }
+
+        private void close() {
+            key.cancel();
+            closeQuietly(channel);
+        }
+
+        private String reason(int status) {
+            switch (status) {
+                case 200:
+                    return "OK";
+                case 400:
+                    return "Bad Request";
+                case 404:
+                    return "Not Found";
+                case 405:
+                    return "Method Not Allowed";
+                case 431:
+                    return "Request Header Fields Too Large";
+                case 503:
+                    return "Service Unavailable";
+                default:
+                    return status >= 500 ? "Error" : "Status";
+            }
+        }
+    }
+}
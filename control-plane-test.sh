@@ -0,0 +1,114 @@
+#!/bin/bash
+
+################################################################################
+# Control-Plane Lane Test for ServiceConsumer
+# 
+# Saturates the data lane with the same load as load-test.sh and verifies that
+# /api/health on the control-plane port keeps responding within a latency budget.
+# 
+# Usage:
+#   ./control-plane-test.sh                  # 50 concurrent requests, 20 health probes, 10ms budget
+#   ./control-plane-test.sh 100              # 100 concurrent requests
+#   ./control-plane-test.sh 50 40 20         # 50 requests, 40 probes, 20ms budget (median)
+# 
+# Exits with status 1 if the median control-plane latency exceeds the budget
+# or any probe fails.
+################################################################################
+
+# Colors
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+YELLOW='\033[1;33m'
+BLUE='\033[0;34m'
+CYAN='\033[0;36m'
+NC='\033[0m'
+
+# Configuration
+DATA_URL="http://localhost:8080"
+CONTROL_URL="http://localhost:8090"
+CONCURRENT_REQUESTS=${1:-50}        # Default 50, same as load-test.sh
+SAMPLES=${2:-20}                    # Number of /api/health probes on the control port
+MAX_MS=${3:-10}                     # Latency budget for the median probe
+
+print_header() {
+    echo -e "${CYAN}━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━${NC}"
+    echo -e "${CYAN}$1${NC}"
+    echo -e "${CYAN}━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━${NC}"
+}
+
+print_header "Control-Plane Lane Test"
+echo ""
+echo "Configuration:"
+echo "  Data lane:     $DATA_URL/api/process-data ($CONCURRENT_REQUESTS concurrent requests)"
+echo "  Control lane:  $CONTROL_URL/api/health ($SAMPLES probes, median budget ${MAX_MS}ms)"
+echo ""
+
+echo -e "${BLUE}Step 1: Checking control-plane port...${NC}"
+if ! curl -s -f -o /dev/null "$CONTROL_URL/api/health"; then
+    echo -e "${RED}✗ $CONTROL_URL/api/health is not reachable (is control-plane.enabled=true?)${NC}"
+    exit 1
+fi
+# Warm up the control lane so the first probes do not measure JIT compilation
+for i in $(seq 1 20); do
+    curl -s -o /dev/null "$CONTROL_URL/api/health"
+done
+echo -e "${GREEN}✓ Control-plane port is up${NC}"
+echo ""
+
+echo -e "${BLUE}Step 2: Saturating the data lane...${NC}"
+for i in $(seq 1 $CONCURRENT_REQUESTS); do
+    curl -s -o /dev/null "$DATA_URL/api/process-data" 2>/dev/null &
+done
+sleep 2
+
+if command -v jq &> /dev/null; then
+    metrics=$(curl -s "$CONTROL_URL/api/metrics")
+    active=$(echo "$metrics" | jq -r '.threadPool.activeThreads // 0')
+    max=$(echo "$metrics" | jq -r '.threadPool.maxThreads // 0')
+    echo "  Data lane thread pool: ${active}/${max}"
+fi
+
+if timeout 2 curl -s -o /dev/null "$DATA_URL/api/health"; then
+    echo -e "${YELLOW}  Data lane /api/health still responds (data lane not fully saturated)${NC}"
+else
+    echo -e "${GREEN}  Data lane /api/health timed out (data lane saturated)${NC}"
+fi
+echo ""
+
+echo -e "${BLUE}Step 3: Probing /api/health on the control-plane port...${NC}"
+latencies=()
+failures=0
+for i in $(seq 1 $SAMPLES); do
+    result=$(curl -s -o /dev/null -m 5 -w "%{http_code} %{time_total}" "$CONTROL_URL/api/health")
+    code=${result%% *}
+    seconds=${result##* }
+    if [ "$code" != "200" ]; then
+        failures=$((failures + 1))
+        echo -e "${RED}  Probe $i failed (HTTP $code)${NC}"
+    else
+        latencies+=("$(awk -v s="$seconds" 'BEGIN { printf "%.1f", s * 1000 }')")
+    fi
+done
+
+sorted=$(printf "%s\n" "${latencies[@]}" | sort -n)
+count=$(echo "$sorted" | grep -c .)
+median=$(echo "$sorted" | awk -v n="$count" 'NR == int((n + 1) / 2) { print }')
+max_latency=$(echo "$sorted" | tail -1)
+
+echo "  Successful probes: $count/$SAMPLES"
+echo "  Median latency:    ${median}ms"
+echo "  Max latency:       ${max_latency}ms"
+echo ""
+
+echo -e "${BLUE}Step 4: Waiting for data lane requests to complete...${NC}"
+wait
+echo ""
+
+print_header "Control-Plane Lane Test Complete"
+if [ "$failures" -eq 0 ] && awk -v m="$median" -v b="$MAX_MS" 'BEGIN { exit !(m <= b) }'; then
+    echo -e "${GREEN}✓ PASS: control-plane median ${median}ms <= ${MAX_MS}ms while the data lane was saturated${NC}"
+    exit 0
+else
+    echo -e "${RED}✗ FAIL: control-plane median ${median}ms (budget ${MAX_MS}ms), ${failures} failed probes${NC}"
+    exit 1
+fi
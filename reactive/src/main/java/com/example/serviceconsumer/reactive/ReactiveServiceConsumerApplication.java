@@ -0,0 +1,45 @@
+package com.example.serviceconsumer.reactive;
+
+import com.example.serviceconsumer.config.CircuitBreakerConfig;
+import com.example.serviceconsumer.config.RequestIdConfig;
+import com.example.serviceconsumer.monitor.LatencyMetrics;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Collections;
+
+/**
+ * ServiceConsumer Reactive - the same endpoints on an event-loop server
+ *
+ * Serves /api/process-data, /api/health and /api/metrics with WebFlux on
+ * Reactor Netty, and calls SlowDependency with a non-blocking WebClient.
+ * A handful of event-loop threads serve every connection, and a request
+ * waiting on SlowDependency holds no thread at all, so a hanging dependency
+ * cannot starve /api/health the way it starves the Tomcat pool.
+ *
+ * Only this package is component-scanned (the servlet filters, controllers
+ * and Tomcat configuration of the main application are not loaded); the
+ * servlet-independent pieces are imported from it:
+ * - CircuitBreakerConfig: the dependency.circuit-breaker.* breaker
+ * - RequestIdConfig: the request-id.* generator
+ * - LatencyMetrics: the same rolling histograms as the servlet /api/metrics
+ *
+ * Settings are read from reactive.properties (spring.config.name), so the main
+ * application's application.properties on the classpath is not picked up.
+ */
+@SpringBootApplication
+@EnableScheduling
+@Import({CircuitBreakerConfig.class, RequestIdConfig.class, LatencyMetrics.class})
+public class ReactiveServiceConsumerApplication {
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(ReactiveServiceConsumerApplication.class);
+        application.setWebApplicationType(WebApplicationType.REACTIVE);
+        application.setDefaultProperties(Collections.singletonMap("spring.config.name", "reactive"));
+        application.run(args);
+    }
+
+}
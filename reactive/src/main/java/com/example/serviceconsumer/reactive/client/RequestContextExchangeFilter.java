@@ -0,0 +1,68 @@
+package com.example.serviceconsumer.reactive.client;
+
+import com.example.serviceconsumer.concurrent.RequestDeadline;
+import com.example.serviceconsumer.exception.DeadlineExceededException;
+import com.example.serviceconsumer.monitor.LatencyMetrics;
+import com.example.serviceconsumer.reactive.context.RequestContext;
+import com.example.serviceconsumer.reactive.filter.RequestIdWebFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebClient filter that does for outbound calls what RestTemplateRequestIdInterceptor
+ * does in the servlet application, reading from the subscriber context instead of the MDC:
+ * - Propagates the request ID (X-Request-ID)
+ * - Forwards the remaining budget (X-Request-Timeout-Ms); a call nobody is
+ *   waiting for is not sent
+ * - Records the latency until the response headers arrive in LatencyMetrics,
+ *   per host and status class
+ */
+@Slf4j
+public class RequestContextExchangeFilter implements ExchangeFilterFunction {
+
+    private final LatencyMetrics latencyMetrics;
+
+    public RequestContextExchangeFilter(LatencyMetrics latencyMetrics) {
+        this.latencyMetrics = latencyMetrics;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.subscriberContext().flatMap(ctx -> {
+            ClientRequest.Builder outbound = ClientRequest.from(request);
+
+            String requestId = RequestContext.requestId(ctx);
+            if (requestId != null) {
+                outbound.header(RequestIdWebFilter.REQUEST_ID_HEADER, requestId);
+            }
+
+            long remaining = RequestContext.remainingMillis(ctx);
+            if (remaining != RequestDeadline.NONE) {
+                if (remaining <= 0) {
+                    return Mono.error(new DeadlineExceededException("Deadline passed before calling " + request.url()));
+                }
+                outbound.header(RequestDeadline.TIMEOUT_HEADER, Long.toString(remaining));
+            }
+
+            String host = request.url().getAuthority();
+            long startTime = System.nanoTime();
+            RequestContext.withMdc(ctx, () -> log.debug("Outbound request: {} {}", request.method(), request.url()));
+
+            return next.exchange(outbound.build())
+                    .doOnSuccess(response -> {
+                        long durationNanos = System.nanoTime() - startTime;
+                        latencyMetrics.recordOutbound(host, response.rawStatusCode(), durationNanos);
+                        RequestContext.withMdc(ctx, () -> log.debug("Outbound response: {} {} - Status: {} - Duration: {}ms",
+                                request.method(), request.url(), response.rawStatusCode(),
+                                TimeUnit.NANOSECONDS.toMillis(durationNanos)));
+                    })
+                    .doOnError(e -> latencyMetrics.recordOutbound(host, 0, System.nanoTime() - startTime));
+        });
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.serviceconsumer.reactive.config;
+
+import com.example.serviceconsumer.client.JsonFieldExtractor;
+import com.example.serviceconsumer.monitor.LatencyMetrics;
+import com.example.serviceconsumer.reactive.client.RequestContextExchangeFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the non-blocking WebClient used to call SlowDependency.
+ *
+ * The client runs on Reactor Netty's shared event loops (the same few
+ * "reactor-http-*" threads that serve inbound requests), so an outstanding
+ * call costs a pooled connection but no thread:
+ * - Uses the same connect/read timeouts as the servlet application's clients
+ *   (the read timeout applies until the response headers arrive), further
+ *   limited by the request's deadline in ReactiveDependencyService
+ * - Pools up to http.client.reactive.max-connections keep-alive connections;
+ *   up to pending-acquire-max-count calls wait at most http.client.pool.lease-timeout
+ *   for one, anything beyond fails fast
+ * - Propagates request IDs and deadlines through RequestContextExchangeFilter
+ */
+@Slf4j
+@Configuration
+public class WebClientConfig {
+
+    @Value("${http.client.connect-timeout}")
+    private int connectTimeout;
+
+    @Value("${http.client.read-timeout}")
+    private long readTimeout;
+
+    @Value("${http.client.reactive.max-connections}")
+    private int maxConnections;
+
+    @Value("${http.client.reactive.pending-acquire-max-count}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${http.client.pool.lease-timeout}")
+    private long leaseTimeout;
+
+    @Value("${http.client.pool.idle-eviction}")
+    private long idleEviction;
+
+    @Value("${dependency.response.message-field}")
+    private String messageField;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider dependencyConnectionProvider() {
+        log.info("Dependency connection pool configured with maxConnections={}, pendingAcquireMaxCount={}, "
+                        + "pendingAcquireTimeout={}ms, maxIdleTime={}ms",
+                maxConnections, pendingAcquireMaxCount, leaseTimeout, idleEviction);
+
+        return ConnectionProvider.builder("dependency")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(leaseTimeout))
+                .maxIdleTime(Duration.ofMillis(idleEviction))
+                .build();
+    }
+
+    @Bean
+    public WebClient dependencyWebClient(WebClient.Builder builder,
+                                         ConnectionProvider dependencyConnectionProvider,
+                                         LatencyMetrics latencyMetrics) {
+        log.info("Dependency WebClient configured with connectTimeout={}ms, readTimeout={}ms",
+                connectTimeout, readTimeout);
+
+        HttpClient httpClient = HttpClient.create(dependencyConnectionProvider)
+                .tcpConfiguration(tcp -> tcp.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout))
+                .responseTimeout(Duration.ofMillis(readTimeout));
+
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(new RequestContextExchangeFilter(latencyMetrics))
+                .build();
+    }
+
+    @Bean
+    public JsonFieldExtractor dependencyMessageExtractor(ObjectMapper objectMapper) {
+        log.info("Dependency responses parsed with a streaming parser for field '{}'", messageField);
+        return new JsonFieldExtractor(objectMapper.getFactory(), messageField);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.serviceconsumer.reactive.context;
+
+import com.example.serviceconsumer.concurrent.RequestDeadline;
+import org.slf4j.MDC;
+import reactor.util.context.Context;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The request ID and end-to-end deadline of a reactive request.
+ *
+ * On the event loop a request hops between threads and a thread interleaves
+ * many requests, so the thread-bound MDC cannot carry them the way it does in
+ * the servlet application. RequestIdWebFilter puts them into the Reactor
+ * subscriber context instead, from where every operator of the request can
+ * read them: the WebClient filter forwards them downstream, and log lines are
+ * written with {@link #withMdc} so the logging pattern's %X{requestId} keeps
+ * working.
+ *
+ * The deadline is kept as an absolute System.nanoTime() value, like
+ * {@link RequestDeadline}, and reported with the same conventions
+ * ({@link RequestDeadline#NONE} when the request has none).
+ */
+public final class RequestContext {
+
+    public static final String REQUEST_ID_KEY = "requestId";
+    public static final String DEADLINE_KEY = "deadline";
+
+    private RequestContext() {
+    }
+
+    /**
+     * @param budgetMs Request budget, or {@link RequestDeadline#NONE}
+     * @return ctx with the request ID and, if there is a budget, the deadline
+     */
+    public static Context with(Context ctx, String requestId, long budgetMs) {
+        Context result = ctx.put(REQUEST_ID_KEY, requestId);
+        if (budgetMs != RequestDeadline.NONE) {
+            result = result.put(DEADLINE_KEY, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMs));
+        }
+        return result;
+    }
+
+    /**
+     * @return the request ID, or null outside a request
+     */
+    public static String requestId(Context ctx) {
+        return ctx.getOrDefault(REQUEST_ID_KEY, null);
+    }
+
+    /**
+     * @return milliseconds left until the deadline (zero or negative once it has
+     *         passed), or {@link RequestDeadline#NONE} if the request has no deadline
+     */
+    public static long remainingMillis(Context ctx) {
+        Long deadline = ctx.getOrDefault(DEADLINE_KEY, null);
+        if (deadline == null) {
+            return RequestDeadline.NONE;
+        }
+        long remainingNanos = deadline - System.nanoTime();
+        // Round up so that a budget with less than 1ms left is not reported as expired
+        return remainingNanos <= 0 ? TimeUnit.NANOSECONDS.toMillis(remainingNanos)
+                : (remainingNanos + 999_999) / 1_000_000;
+    }
+
+    /**
+     * Run an action (typically a log statement) with the request ID in the MDC
+     * of the current thread, and remove it again afterwards so it does not leak
+     * into the next request served by the same event-loop thread.
+     */
+    public static void withMdc(Context ctx, Runnable action) {
+        String requestId = requestId(ctx);
+        if (requestId == null) {
+            action.run();
+            return;
+        }
+        MDC.put(REQUEST_ID_KEY, requestId);
+        try {
+            action.run();
+        } finally {
+            MDC.remove(REQUEST_ID_KEY);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.serviceconsumer.reactive.controller;
+
+import com.example.serviceconsumer.exception.DeadlineExceededException;
+import com.example.serviceconsumer.exception.DependencyRejectedException;
+import com.example.serviceconsumer.model.ApiResponse;
+import com.example.serviceconsumer.reactive.context.RequestContext;
+import com.example.serviceconsumer.reactive.service.ReactiveDependencyService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.LocalDateTime;
+
+/**
+ * Controller for the endpoint that calls SlowDependency, on the event loop.
+ *
+ * The handler returns as soon as the call is sent; the response is written
+ * when SlowDependency answers, fails or the request's deadline passes.
+ * Responses match the servlet DataController (200, 500, and 503/504 through
+ * ReactiveExceptionHandler).
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api")
+public class ReactiveDataController {
+
+    @Autowired
+    private ReactiveDependencyService dependencyService;
+
+    /**
+     * Process data by fetching information from SlowDependency.
+     *
+     * @return API response with data or error
+     */
+    @GetMapping("/process-data")
+    public Mono<ResponseEntity<ApiResponse>> processData() {
+        long startTime = System.currentTimeMillis();
+
+        return Mono.subscriberContext().flatMap(ctx -> {
+            RequestContext.withMdc(ctx, () -> log.info("Incoming request: GET /api/process-data - Thread: {}",
+                    Thread.currentThread().getName()));
+
+            return dependencyService.fetchDataFromDependency()
+                    .map(data -> success(ctx, data, startTime))
+                    .onErrorResume(e -> failure(ctx, e, startTime));
+        });
+    }
+
+    private ResponseEntity<ApiResponse> success(Context ctx, String data, long startTime) {
+        long processingTime = System.currentTimeMillis() - startTime;
+
+        ApiResponse response = ApiResponse.builder()
+                .status("success")
+                .data(data)
+                .message("Data processed successfully")
+                .timestamp(LocalDateTime.now())
+                .processingTimeMs(processingTime)
+                .build();
+
+        RequestContext.withMdc(ctx, () -> log.info("Response: GET /api/process-data - Status: 200 - Duration: {}ms",
+                processingTime));
+
+        return ResponseEntity.ok(response);
+    }
+
+    private Mono<ResponseEntity<ApiResponse>> failure(Context ctx, Throwable e, long startTime) {
+        long processingTime = System.currentTimeMillis() - startTime;
+
+        if (e instanceof DependencyRejectedException) {
+            // Fast local rejection (circuit open) - rendered as 503 by ReactiveExceptionHandler
+            RequestContext.withMdc(ctx, () -> log.warn("Request rejected: GET /api/process-data - Duration: {}ms - Reason: {}",
+                    processingTime, e.getMessage()));
+            return Mono.error(e);
+        }
+        if (e instanceof DeadlineExceededException) {
+            // The caller's budget ran out - rendered as 504 by ReactiveExceptionHandler
+            RequestContext.withMdc(ctx, () -> log.warn("Request deadline exceeded: GET /api/process-data - Duration: {}ms",
+                    processingTime));
+            return Mono.error(e);
+        }
+
+        RequestContext.withMdc(ctx, () -> log.error("Request failed: GET /api/process-data - Duration: {}ms - Error: {}",
+                processingTime, e.getMessage()));
+
+        ApiResponse response = ApiResponse.builder()
+                .status("error")
+                .message("Failed to fetch data from dependency")
+                .error(e.getMessage())
+                .timestamp(LocalDateTime.now())
+                .processingTimeMs(processingTime)
+                .build();
+
+        return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.serviceconsumer.reactive.controller;
+
+import com.example.serviceconsumer.model.HealthResponse;
+import com.example.serviceconsumer.reactive.context.RequestContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Controller for the CONTROL endpoint (health check) on the event loop.
+ *
+ * Unlike the servlet HealthController, this endpoint stays fast while
+ * /api/process-data calls are waiting on a hanging SlowDependency: those
+ * calls hold connections, not event-loop threads.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api")
+public class ReactiveHealthController {
+
+    /**
+     * Simple health check endpoint with NO external dependencies.
+     *
+     * @return Health status
+     */
+    @GetMapping("/health")
+    public Mono<ResponseEntity<HealthResponse>> health() {
+        return Mono.subscriberContext().map(ctx -> {
+            RequestContext.withMdc(ctx, () -> log.info("Incoming request: GET /api/health - Thread: {}",
+                    Thread.currentThread().getName()));
+
+            HealthResponse response = HealthResponse.builder()
+                    .status("UP")
+                    .timestamp(LocalDateTime.now())
+                    .message("Application is healthy")
+                    .build();
+
+            RequestContext.withMdc(ctx, () -> log.info("Response: GET /api/health - Status: 200"));
+
+            return ResponseEntity.ok(response);
+        });
+    }
+}
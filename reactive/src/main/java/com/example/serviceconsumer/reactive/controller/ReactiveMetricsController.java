@@ -0,0 +1,102 @@
+package com.example.serviceconsumer.reactive.controller;
+
+import com.example.serviceconsumer.monitor.LatencyMetrics;
+import com.example.serviceconsumer.reactive.model.ReactiveMetricsResponse;
+import com.example.serviceconsumer.reactive.model.RuntimeStats;
+import com.example.serviceconsumer.reactive.service.ReactiveDependencyService;
+import com.example.serviceconsumer.resilience.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+
+/**
+ * Controller for the metrics endpoint of the reactive variant.
+ *
+ * There is no worker pool to report; instead this shows how many dependency
+ * calls are in flight (each holds a connection, not a thread), the circuit
+ * breaker, the same latency percentiles as the servlet /api/metrics, and the
+ * JVM's thread count and heap usage for footprint comparisons.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api")
+public class ReactiveMetricsController {
+
+    private static final String EVENT_LOOP_THREAD_PREFIX = "reactor-http-";
+    private static final long MB = 1024 * 1024;
+
+    @Value("${app.name}")
+    private String appName;
+
+    @Value("${app.version}")
+    private String appVersion;
+
+    @Autowired
+    private ReactiveDependencyService dependencyService;
+
+    @Autowired
+    private CircuitBreaker dependencyCircuitBreaker;
+
+    @Autowired
+    private LatencyMetrics latencyMetrics;
+
+    /**
+     * Get application metrics.
+     *
+     * Shows:
+     * - Dependency calls in flight (and peak), succeeded, failed and rejected
+     * - Circuit breaker state, failure/slow-call rates and recent transitions
+     * - Latency percentiles per endpoint and per outbound host/status class
+     * - Live/peak JVM threads, event-loop threads and heap usage
+     *
+     * @return Metrics response
+     */
+    @GetMapping("/metrics")
+    public ResponseEntity<ReactiveMetricsResponse> getMetrics() {
+        log.debug("Incoming request: GET /api/metrics");
+
+        ReactiveMetricsResponse response = ReactiveMetricsResponse.builder()
+                .dependencyCalls(dependencyService.getStats())
+                .circuitBreaker(dependencyCircuitBreaker.getStats())
+                .latency(latencyMetrics.getReport())
+                .runtime(getRuntimeStats())
+                .timestamp(LocalDateTime.now())
+                .applicationName(appName)
+                .version(appVersion)
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    private RuntimeStats getRuntimeStats() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int eventLoopThreads = 0;
+        // Thread names only (no stack traces), so this stays cheap
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds(), 0)) {
+            if (info != null && info.getThreadName().startsWith(EVENT_LOOP_THREAD_PREFIX)) {
+                eventLoopThreads++;
+            }
+        }
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+
+        return RuntimeStats.builder()
+                .liveThreads(threads.getThreadCount())
+                .peakThreads(threads.getPeakThreadCount())
+                .eventLoopThreads(eventLoopThreads)
+                .heapUsedMb(heap.getUsed() / MB)
+                .heapCommittedMb(heap.getCommitted() / MB)
+                .heapMaxMb(heap.getMax() / MB)
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.serviceconsumer.reactive.exception;
+
+import com.example.serviceconsumer.exception.DeadlineExceededException;
+import com.example.serviceconsumer.exception.DependencyRejectedException;
+import com.example.serviceconsumer.model.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.time.LocalDateTime;
+
+/**
+ * Exception handler of the reactive variant, answering with the same statuses
+ * and bodies as the servlet application's GlobalExceptionHandler.
+ *
+ * The controllers log these failures with the request ID before they get here.
+ */
+@Slf4j
+@ControllerAdvice
+public class ReactiveExceptionHandler {
+
+    /**
+     * Handle requests whose end-to-end deadline (X-Request-Timeout-Ms or the
+     * endpoint default) ran out before SlowDependency answered.
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ApiResponse> handleDeadlineExceededException(DeadlineExceededException ex) {
+        ApiResponse response = ApiResponse.builder()
+                .status("error")
+                .message("Request deadline exceeded")
+                .error(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(response);
+    }
+
+    /**
+     * Handle calls rejected locally before reaching SlowDependency (circuit breaker open).
+     * These fail fast, so the client is told to retry shortly instead of waiting.
+     */
+    @ExceptionHandler(DependencyRejectedException.class)
+    public ResponseEntity<ApiResponse> handleDependencyRejectedException(DependencyRejectedException ex) {
+        ApiResponse response = ApiResponse.builder()
+                .status("error")
+                .message("Dependency service is overloaded, call rejected")
+                .error(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    /**
+     * Handle all other unexpected exceptions.
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ApiResponse> handleGenericException(Exception ex) {
+        log.error("Unexpected error: {}", ex.getMessage(), ex);
+
+        ApiResponse response = ApiResponse.builder()
+                .status("error")
+                .message("An unexpected error occurred")
+                .error(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.serviceconsumer.reactive.filter;
+
+import com.example.serviceconsumer.monitor.LatencyMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Filter recording the latency of every inbound request into LatencyMetrics.
+ *
+ * Runs first, so the measured time includes the other filters (and requests
+ * they reject). The latency is recorded when the response completes (or the
+ * client goes away), not when the event-loop thread returns from the handler.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LatencyRecordingWebFilter implements WebFilter {
+
+    @Autowired
+    private LatencyMetrics latencyMetrics;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long startTime = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> record(exchange, startTime));
+    }
+
+    private void record(ServerWebExchange exchange, long startTime) {
+        Object pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = pattern != null ? pattern.toString() : LatencyMetrics.UNMATCHED_ENDPOINT;
+        latencyMetrics.recordInbound(endpoint, System.nanoTime() - startTime);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.serviceconsumer.reactive.filter;
+
+import com.example.serviceconsumer.concurrent.RequestDeadline;
+import com.example.serviceconsumer.concurrent.RequestIdGenerator;
+import com.example.serviceconsumer.model.ApiResponse;
+import com.example.serviceconsumer.reactive.context.RequestContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Reactive counterpart of the servlet RequestIdFilter.
+ *
+ * The request ID is:
+ * 1. Extracted from X-Request-ID header if present
+ * 2. Generated by the configured {@link RequestIdGenerator} if not present
+ * 3. Stored in the Reactor subscriber context ({@link RequestContext}) instead of the MDC
+ * 4. Added to response headers
+ *
+ * The request's end-to-end deadline is resolved the same way and from the same
+ * deadline.* settings as in the servlet application (X-Request-Timeout-Ms,
+ * then deadline.endpoint-timeouts, then deadline.default-timeout), and a budget
+ * that has already run out is rejected with 504 before any work starts.
+ */
+@Slf4j
+@Component
+@Order(1)
+public class RequestIdWebFilter implements WebFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-ID";
+
+    @Value("${deadline.enabled}")
+    private boolean deadlineEnabled;
+
+    @Value("${deadline.max-timeout}")
+    private long maxTimeout;
+
+    @Value("${deadline.default-timeout}")
+    private long defaultTimeout;
+
+    @Value("#{${deadline.endpoint-timeouts}}")
+    private Map<String, Long> endpointTimeouts;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RequestIdGenerator requestIdGenerator;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+
+        // Extract or generate request ID
+        String header = request.getHeaders().getFirst(REQUEST_ID_HEADER);
+        String requestId = isBlank(header) ? requestIdGenerator.nextId() : header;
+
+        // Add to response header
+        exchange.getResponse().getHeaders().add(REQUEST_ID_HEADER, requestId);
+
+        long budget = deadlineEnabled ? resolveBudget(request) : RequestDeadline.NONE;
+        if (budget <= 0) {
+            RequestContext.withMdc(RequestContext.with(Context.empty(), requestId, RequestDeadline.NONE), () ->
+                    log.warn("Request rejected: {} {} arrived with an exhausted deadline ({}ms)",
+                            request.getMethod(), request.getPath(), budget));
+            return writeDeadlineExceeded(exchange.getResponse());
+        }
+
+        // Store in the subscriber context, which follows the request across threads
+        return chain.filter(exchange)
+                .subscriberContext(ctx -> RequestContext.with(ctx, requestId, budget));
+    }
+
+    private static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the request's budget in ms, or {@link RequestDeadline#NONE}
+     */
+    private long resolveBudget(ServerHttpRequest request) {
+        String header = request.getHeaders().getFirst(RequestDeadline.TIMEOUT_HEADER);
+        if (header != null) {
+            try {
+                return Math.min(Long.parseLong(header.trim()), maxTimeout);
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring malformed {} header: {}", RequestDeadline.TIMEOUT_HEADER, header);
+            }
+        }
+
+        String path = request.getPath().value();
+        for (Map.Entry<String, Long> entry : endpointTimeouts.entrySet()) {
+            if (path.startsWith(entry.getKey())) {
+                return entry.getValue() > 0 ? entry.getValue() : RequestDeadline.NONE;
+            }
+        }
+        return defaultTimeout > 0 ? defaultTimeout : RequestDeadline.NONE;
+    }
+
+    private Mono<Void> writeDeadlineExceeded(ServerHttpResponse response) {
+        ApiResponse body = ApiResponse.builder()
+                .status("error")
+                .message("Request deadline exceeded")
+                .error("Request arrived with no time left in " + RequestDeadline.TIMEOUT_HEADER)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+
+        response.setStatusCode(HttpStatus.GATEWAY_TIMEOUT);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer buffer = response.bufferFactory().wrap(json);
+        return response.writeWith(Mono.just(buffer));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.serviceconsumer.reactive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Non-blocking dependency call statistics (calls in flight hold a connection, not a thread)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DependencyCallStats {
+
+    private int inFlightCalls;
+    private int peakInFlightCalls;
+    private int maxConnections;
+    private long succeededCalls;
+    private long failedCalls;
+    private long rejectedCalls;
+
+}
@@ -0,0 +1,30 @@
+package com.example.serviceconsumer.reactive.model;
+
+import com.example.serviceconsumer.model.CircuitBreakerStats;
+import com.example.serviceconsumer.model.LatencyReport;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Metrics response of the reactive variant: dependency calls, circuit breaker,
+ * latency percentiles (same format as the servlet /api/metrics) and runtime footprint
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReactiveMetricsResponse {
+
+    private DependencyCallStats dependencyCalls;
+    private CircuitBreakerStats circuitBreaker;
+    private LatencyReport latency;
+    private RuntimeStats runtime;
+    private LocalDateTime timestamp;
+    private String applicationName;
+    private String version;
+
+}
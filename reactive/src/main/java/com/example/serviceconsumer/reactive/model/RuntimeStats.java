@@ -0,0 +1,24 @@
+package com.example.serviceconsumer.reactive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * JVM thread and heap usage, for comparing the footprint with the servlet stack
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RuntimeStats {
+
+    private int liveThreads;
+    private int peakThreads;
+    private int eventLoopThreads;
+    private long heapUsedMb;
+    private long heapCommittedMb;
+    private long heapMaxMb;
+
+}
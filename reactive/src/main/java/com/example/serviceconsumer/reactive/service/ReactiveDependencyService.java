@@ -0,0 +1,159 @@
+package com.example.serviceconsumer.reactive.service;
+
+import com.example.serviceconsumer.client.JsonFieldExtractor;
+import com.example.serviceconsumer.concurrent.RequestDeadline;
+import com.example.serviceconsumer.exception.CircuitBreakerOpenException;
+import com.example.serviceconsumer.exception.DeadlineExceededException;
+import com.example.serviceconsumer.reactive.context.RequestContext;
+import com.example.serviceconsumer.reactive.model.DependencyCallStats;
+import com.example.serviceconsumer.resilience.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-blocking client for SlowDependency.
+ *
+ * Each call is a WebClient exchange on the Reactor Netty event loop, so a
+ * call waiting on a hanging SlowDependency holds a pooled connection but no
+ * thread. There is therefore no bulkhead: concurrency is bounded by the
+ * connection pool (http.client.reactive.*) and the circuit breaker.
+ *
+ * - Fails fast with 503 while the circuit breaker is open
+ * - Gives up when the request's deadline passes (504), on top of the read timeout;
+ *   such calls are not counted as failures by the circuit breaker
+ * - Extracts the message field with the same streaming parser as the servlet
+ *   application, from the buffered body
+ */
+@Slf4j
+@Service
+public class ReactiveDependencyService {
+
+    private static final String DEFAULT_MESSAGE = "Data received from SlowDependency";
+
+    @Value("${dependency.service.url}")
+    private String dependencyUrl;
+
+    @Value("${http.client.reactive.max-connections}")
+    private int maxConnections;
+
+    @Autowired
+    private WebClient dependencyWebClient;
+
+    @Autowired
+    private CircuitBreaker dependencyCircuitBreaker;
+
+    @Autowired
+    private JsonFieldExtractor dependencyMessageExtractor;
+
+    private final AtomicInteger inFlightCalls = new AtomicInteger();
+    private final AtomicInteger peakInFlightCalls = new AtomicInteger();
+    private final AtomicLong succeededCalls = new AtomicLong();
+    private final AtomicLong failedCalls = new AtomicLong();
+    private final AtomicLong rejectedCalls = new AtomicLong();
+
+    /**
+     * Fetch data from SlowDependency.
+     *
+     * @return Mono emitting the message field of the dependency's response; fails with
+     *         CircuitBreakerOpenException, DeadlineExceededException or the WebClient's exception
+     */
+    public Mono<String> fetchDataFromDependency() {
+        return Mono.subscriberContext().flatMap(this::callDependency);
+    }
+
+    private Mono<String> callDependency(Context ctx) {
+        long remaining = RequestContext.remainingMillis(ctx);
+        if (remaining <= 0) {
+            return Mono.error(new DeadlineExceededException("Deadline passed before calling SlowDependency"));
+        }
+        long permit = dependencyCircuitBreaker.tryAcquirePermission();
+        if (permit == CircuitBreaker.NOT_PERMITTED) {
+            rejectedCalls.incrementAndGet();
+            return Mono.error(new CircuitBreakerOpenException(
+                    dependencyCircuitBreaker.getName(), dependencyCircuitBreaker.getState().name()));
+        }
+
+        RequestContext.withMdc(ctx, () -> log.info("Calling SlowDependency at: {} - Thread: {}",
+                dependencyUrl, Thread.currentThread().getName()));
+
+        Mono<String> call = dependencyWebClient.get()
+                .uri(dependencyUrl)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(DataBuffer.class)
+                .map(this::readMessage)
+                .defaultIfEmpty(DEFAULT_MESSAGE);
+
+        if (remaining != RequestDeadline.NONE) {
+            call = call.timeout(Duration.ofMillis(remaining), Mono.defer(() -> Mono.error(
+                    new DeadlineExceededException("Deadline of " + remaining + "ms passed waiting for SlowDependency"))));
+        }
+
+        long startTime = System.nanoTime();
+        int current = inFlightCalls.incrementAndGet();
+        peakInFlightCalls.accumulateAndGet(current, Math::max);
+
+        return call
+                .doOnSuccess(data -> {
+                    long durationNanos = System.nanoTime() - startTime;
+                    dependencyCircuitBreaker.onSuccess(permit, durationNanos);
+                    succeededCalls.incrementAndGet();
+                    RequestContext.withMdc(ctx, () -> log.info("SlowDependency responded successfully - Duration: {}ms",
+                            TimeUnit.NANOSECONDS.toMillis(durationNanos)));
+                })
+                .doOnError(e -> {
+                    long durationNanos = System.nanoTime() - startTime;
+                    failedCalls.incrementAndGet();
+                    if (e instanceof DeadlineExceededException || RequestContext.remainingMillis(ctx) <= 0) {
+                        // The caller's budget ran out, not a dependency failure: a tiny
+                        // X-Request-Timeout-Ms must not open the breaker for every caller
+                        dependencyCircuitBreaker.releasePermission(permit);
+                        RequestContext.withMdc(ctx, () -> log.warn("SlowDependency call hit the request deadline - Duration: {}ms",
+                                TimeUnit.NANOSECONDS.toMillis(durationNanos)));
+                        return;
+                    }
+                    dependencyCircuitBreaker.onError(permit, durationNanos);
+                    RequestContext.withMdc(ctx, () -> log.error("SlowDependency call failed - Duration: {}ms - Error: {}",
+                            TimeUnit.NANOSECONDS.toMillis(durationNanos), e.getMessage()));
+                })
+                // The client went away: the call is abandoned, not a dependency failure
+                .doOnCancel(() -> dependencyCircuitBreaker.releasePermission(permit))
+                .doFinally(signal -> inFlightCalls.decrementAndGet());
+    }
+
+    private String readMessage(DataBuffer buffer) {
+        // Closing the stream releases the pooled buffer
+        try (InputStream body = buffer.asInputStream(true)) {
+            String message = dependencyMessageExtractor.extract(body);
+            return message != null ? message : DEFAULT_MESSAGE;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read SlowDependency response: " + e.getMessage(), e);
+        }
+    }
+
+    public DependencyCallStats getStats() {
+        return DependencyCallStats.builder()
+                .inFlightCalls(inFlightCalls.get())
+                .peakInFlightCalls(peakInFlightCalls.get())
+                .maxConnections(maxConnections)
+                .succeededCalls(succeededCalls.get())
+                .failedCalls(failedCalls.get())
+                .rejectedCalls(rejectedCalls.get())
+                .build();
+    }
+}
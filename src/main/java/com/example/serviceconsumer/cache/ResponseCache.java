@@ -0,0 +1,176 @@
+package com.example.serviceconsumer.cache;
+
+import com.example.serviceconsumer.model.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory TTL cache for dependency responses.
+ * 
+ * For an entry of age A:
+ * - A <= ttl: fresh, served from the cache (hit)
+ * - ttl < A <= ttl + staleWhileRevalidate: served stale immediately while a
+ *   single background refresh runs (stale hit)
+ * - Otherwise: loaded from the dependency (miss); if that load fails and
+ *   A <= ttl + staleIfError, the stale value is served instead (stale-if-error)
+ * 
+ * Entries are evicted least-recently-used once maxEntries is reached.
+ */
+@Slf4j
+public class ResponseCache<K, V> {
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long staleWhileRevalidateNanos;
+    private final long staleIfErrorNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder staleIfErrorHits = new LongAdder();
+    private final LongAdder backgroundRefreshes = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // Access-ordered for LRU eviction (guarded by itself)
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    public ResponseCache(boolean enabled, int maxEntries, long ttlMs,
+                         long staleWhileRevalidateMs, long staleIfErrorMs) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.staleWhileRevalidateNanos = TimeUnit.MILLISECONDS.toNanos(staleWhileRevalidateMs);
+        this.staleIfErrorNanos = TimeUnit.MILLISECONDS.toNanos(staleIfErrorMs);
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > ResponseCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get the value for a key, loading it with the given loader when needed.
+     * 
+     * @param key    Cache key
+     * @param loader Starts a (non-blocking) load of the value from the dependency
+     * @return Future completed with the cached, stale or freshly loaded value
+     */
+    public CompletableFuture<V> get(K key, Supplier<CompletableFuture<V>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        Entry<V> entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+
+        if (entry != null) {
+            long age = System.nanoTime() - entry.storedAtNanos;
+
+            if (age <= ttlNanos) {
+                hits.increment();
+                return CompletableFuture.completedFuture(entry.value);
+            }
+
+            if (age <= ttlNanos + staleWhileRevalidateNanos) {
+                staleHits.increment();
+                refreshInBackground(key, entry, loader);
+                return CompletableFuture.completedFuture(entry.value);
+            }
+        }
+
+        misses.increment();
+        return loader.get().handle((value, ex) -> {
+            if (ex == null) {
+                put(key, value);
+                return value;
+            }
+
+            if (entry != null && System.nanoTime() - entry.storedAtNanos <= ttlNanos + staleIfErrorNanos) {
+                staleIfErrorHits.increment();
+                log.warn("Serving stale value for {} after dependency error: {}", key, ex.getMessage());
+                return entry.value;
+            }
+
+            throw ex instanceof RuntimeException ? (RuntimeException) ex : new IllegalStateException(ex);
+        });
+    }
+
+    private void refreshInBackground(K key, Entry<V> entry, Supplier<CompletableFuture<V>> loader) {
+        // Only one refresh per entry at a time; everyone else keeps getting the stale value
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        backgroundRefreshes.increment();
+        log.debug("Refreshing stale cache entry in background: {}", key);
+
+        CompletableFuture<V> refresh;
+        try {
+            refresh = loader.get();
+        } catch (RuntimeException e) {
+            entry.refreshing.set(false);
+            throw e;
+        }
+
+        refresh.whenComplete((value, ex) -> {
+            if (ex == null) {
+                put(key, value);
+            } else {
+                log.debug("Background refresh failed for {}: {}", key, ex.getMessage());
+            }
+            entry.refreshing.set(false);
+        });
+    }
+
+    private void put(K key, V value) {
+        Entry<V> entry = new Entry<>(value, System.nanoTime());
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    public CacheStats getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+
+        return CacheStats.builder()
+                .enabled(enabled)
+                .size(size)
+                .maxEntries(maxEntries)
+                .hits(hits.sum())
+                .misses(misses.sum())
+                .staleHits(staleHits.sum())
+                .staleIfErrorHits(staleIfErrorHits.sum())
+                .backgroundRefreshes(backgroundRefreshes.sum())
+                .evictions(evictions.sum())
+                .build();
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long storedAtNanos;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(V value, long storedAtNanos) {
+            this.value = value;
+            this.storedAtNanos = storedAtNanos;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.serviceconsumer.client;
+
+import com.example.serviceconsumer.concurrent.RequestDeadline;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.net.URI;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * RestTemplate request factory that clamps the connect, read and pool lease
+ * timeouts of every request to the calling request's remaining deadline
+ * ({@link RequestDeadline}).
+ *
+ * The configured timeouts (http.client.*) remain the upper bound; a caller
+ * with 400ms left gets at most 400ms for each phase instead of the full
+ * 2s connect + 3s read. Threads without a deadline use the configured
+ * timeouts unchanged.
+ *
+ * A call run via {@link #withRequestListener} also hands out the requests it
+ * creates, so another thread can abort() one whose caller has given up
+ * (e.g. a losing hedge) and free its thread and pooled connection.
+ */
+public class DeadlineAwareRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+    private static final ThreadLocal<Consumer<HttpUriRequest>> REQUEST_LISTENER = new ThreadLocal<>();
+
+    public DeadlineAwareRequestFactory(HttpClient httpClient) {
+        super(httpClient);
+    }
+
+    /**
+     * Run a call on the current thread, passing every request it creates
+     * through this factory to listener before the request is sent.
+     */
+    public static <T> T withRequestListener(Consumer<HttpUriRequest> listener, Supplier<T> call) {
+        REQUEST_LISTENER.set(listener);
+        try {
+            return call.get();
+        } finally {
+            REQUEST_LISTENER.remove();
+        }
+    }
+
+    @Override
+    protected HttpUriRequest createHttpUriRequest(HttpMethod httpMethod, URI uri) {
+        HttpUriRequest request = super.createHttpUriRequest(httpMethod, uri);
+        Consumer<HttpUriRequest> listener = REQUEST_LISTENER.get();
+        if (listener != null) {
+            listener.accept(request);
+        }
+        return request;
+    }
+
+    @Override
+    protected RequestConfig createRequestConfig(Object client) {
+        RequestConfig config = super.createRequestConfig(client);
+        if (!RequestDeadline.isPresent()) {
+            return config;
+        }
+        return clampToDeadline(config != null ? config : RequestConfig.DEFAULT);
+    }
+
+    /**
+     * Copy of config with its timeouts clamped to the current thread's
+     * remaining deadline. Also used by {@link NioDependencyClient}.
+     */
+    static RequestConfig clampToDeadline(RequestConfig config) {
+        return RequestConfig.copy(config)
+                .setConnectTimeout(RequestDeadline.clampTimeout(config.getConnectTimeout()))
+                .setSocketTimeout(RequestDeadline.clampTimeout(config.getSocketTimeout()))
+                .setConnectionRequestTimeout(RequestDeadline.clampTimeout(config.getConnectionRequestTimeout()))
+                .build();
+    }
+}
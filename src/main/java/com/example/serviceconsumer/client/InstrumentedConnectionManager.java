@@ -0,0 +1,82 @@
+package com.example.serviceconsumer.client;
+
+import com.example.serviceconsumer.model.ConnectionPoolStats;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pooling connection manager that counts leases, lease timeouts and newly
+ * opened connections, so connection reuse can be seen on /api/metrics.
+ * 
+ * HttpClient only calls {@link #connect} for a leased connection that is not
+ * open yet, so every lease that did not need a connect reused a pooled
+ * keep-alive connection.
+ */
+public class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final LongAdder leaseRequests = new LongAdder();
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder leaseTimeouts = new LongAdder();
+    private final LongAdder newConnections = new LongAdder();
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        leaseRequests.increment();
+        ConnectionRequest request = super.requestConnection(route, state);
+
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                try {
+                    HttpClientConnection connection = request.get(timeout, timeUnit);
+                    leases.increment();
+                    return connection;
+                } catch (ConnectionPoolTimeoutException e) {
+                    leaseTimeouts.increment();
+                    throw e;
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+
+    @Override
+    public void connect(HttpClientConnection managedConn, HttpRoute route,
+                        int connectTimeout, HttpContext context) throws IOException {
+        newConnections.increment();
+        super.connect(managedConn, route, connectTimeout, context);
+    }
+
+    public ConnectionPoolStats getStats() {
+        PoolStats totalStats = getTotalStats();
+        long leaseCount = leases.sum();
+        long newConnectionCount = newConnections.sum();
+
+        return ConnectionPoolStats.builder()
+                .maxTotal(getMaxTotal())
+                .maxPerRoute(getDefaultMaxPerRoute())
+                .leased(totalStats.getLeased())
+                .available(totalStats.getAvailable())
+                .pending(totalStats.getPending())
+                .leaseRequests(leaseRequests.sum())
+                .leaseTimeouts(leaseTimeouts.sum())
+                .newConnections(newConnectionCount)
+                .reusedConnections(Math.max(0, leaseCount - newConnectionCount))
+                .build();
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.serviceconsumer.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Pulls a single top-level field out of a JSON response body with a streaming
+ * parser, without deserializing the body into a Map.
+ *
+ * - Reads the body once, token by token, straight from the response stream
+ * - Skips other fields and nested objects/arrays without materializing them
+ *   (skipped strings are never decoded into String instances)
+ * - Stops parsing as soon as the field is found; the rest of the body is
+ *   drained by the HTTP client, so large payloads are never buffered
+ *
+ * {@link #extract} reads from a blocking stream. {@link #newFeed()} does the
+ * same for bodies that arrive in chunks on a non-blocking client, using
+ * Jackson's non-blocking parser so no thread waits and no chunk is kept.
+ * That parser cannot skip a token it has not finished and holds it in memory,
+ * so a feed fails on a single token larger than {@link #MAX_FEED_TOKEN_BYTES}
+ * (e.g. a huge string) rather than buffering it.
+ *
+ * Instances are immutable and thread-safe.
+ */
+public class JsonFieldExtractor {
+
+    public static final int MAX_FEED_TOKEN_BYTES = 1024 * 1024;
+
+    private final JsonFactory jsonFactory;
+    private final String fieldName;
+
+    public JsonFieldExtractor(JsonFactory jsonFactory, String fieldName) {
+        this.jsonFactory = jsonFactory;
+        this.fieldName = fieldName;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * Extract the field's value as text.
+     *
+     * @param body Response body; not closed by this method
+     * @return the field's value (numbers and booleans as text), or null if the
+     *         body is empty, is not a JSON object, lacks the field, or the field
+     *         is null, an object or an array
+     * @throws IOException if the body cannot be read or is not valid JSON
+     */
+    public String extract(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                boolean match = fieldName.equals(parser.getCurrentName());
+                JsonToken value = parser.nextToken();
+
+                if (match) {
+                    return value.isScalarValue() && value != JsonToken.VALUE_NULL ? parser.getText() : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Start extracting the field from a body that will be fed in chunks.
+     */
+    public Feed newFeed() throws IOException {
+        return new Feed(jsonFactory.createNonBlockingByteArrayParser());
+    }
+
+    /**
+     * One incremental extraction; same result as {@link #extract}. Not thread-safe:
+     * chunks must be fed in order by one thread at a time.
+     */
+    public final class Feed implements Closeable {
+
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+
+        // Bytes fed since the parser last completed a token
+        private long pendingBytes;
+        // Nesting depth of the last token; 1 is inside the top-level object
+        private int depth;
+        private boolean match;
+        private boolean done;
+        private String value;
+
+        private Feed(JsonParser parser) {
+            this.parser = parser;
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        /**
+         * Parse the next chunk of the body. The bytes are not retained after this returns.
+         *
+         * @return true once the result is known; later chunks may then be discarded
+         * @throws IOException if the body is not valid JSON, or a token exceeds
+         *         {@link #MAX_FEED_TOKEN_BYTES}
+         */
+        public boolean feed(byte[] data, int offset, int length) throws IOException {
+            if (!done) {
+                pendingBytes += length;
+                feeder.feedInput(data, offset, offset + length);
+                advance();
+                if (!done && pendingBytes > MAX_FEED_TOKEN_BYTES) {
+                    throw new JsonParseException(parser, "JSON token longer than "
+                            + MAX_FEED_TOKEN_BYTES + " bytes while looking for field '" + fieldName + "'");
+                }
+            }
+            return done;
+        }
+
+        /**
+         * Signal the end of the body and return the result, as {@link #extract} would.
+         */
+        public String finish() throws IOException {
+            if (!done) {
+                feeder.endOfInput();
+                advance();
+            }
+            return value;
+        }
+
+        private void advance() throws IOException {
+            JsonToken token;
+            while (!done && (token = parser.nextToken()) != JsonToken.NOT_AVAILABLE) {
+                pendingBytes = 0;
+                if (token == null || (depth == 0 && token != JsonToken.START_OBJECT)) {
+                    // End of body, or not a JSON object
+                    done = true;
+                } else if (depth == 1 && token == JsonToken.FIELD_NAME) {
+                    match = fieldName.equals(parser.getCurrentName());
+                } else if (depth == 1 && token == JsonToken.END_OBJECT) {
+                    done = true;
+                } else if (depth == 1 && match) {
+                    value = token.isScalarValue() && token != JsonToken.VALUE_NULL ? parser.getText() : null;
+                    done = true;
+                } else if (token.isStructStart()) {
+                    depth++;
+                } else if (token.isStructEnd()) {
+                    depth--;
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+}
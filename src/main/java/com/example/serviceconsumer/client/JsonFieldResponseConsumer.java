@@ -0,0 +1,108 @@
+package com.example.serviceconsumer.client;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.ContentType;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.protocol.AbstractAsyncResponseConsumer;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Response consumer for {@link NioDependencyClient} that extracts a JSON field
+ * while the body arrives, instead of buffering the entity first.
+ *
+ * - 2xx/3xx bodies go chunk by chunk through a {@link JsonFieldExtractor.Feed};
+ *   once the field is found the rest is read and discarded, keeping the
+ *   connection reusable
+ * - Error bodies are kept only up to {@link #MAX_ERROR_BODY_BYTES}, for the
+ *   exception message
+ *
+ * Memory per exchange is one read buffer plus at most one unfinished JSON token
+ * ({@link JsonFieldExtractor#MAX_FEED_TOKEN_BYTES}), whatever the payload size.
+ */
+class JsonFieldResponseConsumer extends AbstractAsyncResponseConsumer<JsonFieldResponseConsumer.Result> {
+
+    static final int MAX_ERROR_BODY_BYTES = 8 * 1024;
+
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+
+    private final JsonFieldExtractor extractor;
+    private final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+    private HttpResponse response;
+    private JsonFieldExtractor.Feed feed;
+    private boolean fieldResolved;
+    private ByteArrayOutputStream errorBody;
+
+    JsonFieldResponseConsumer(JsonFieldExtractor extractor) {
+        this.extractor = extractor;
+    }
+
+    @Override
+    protected void onResponseReceived(HttpResponse response) {
+        this.response = response;
+    }
+
+    @Override
+    protected void onEntityEnclosed(HttpEntity entity, ContentType contentType) throws IOException {
+        if (response.getStatusLine().getStatusCode() >= 400) {
+            errorBody = new ByteArrayOutputStream();
+        } else {
+            feed = extractor.newFeed();
+        }
+    }
+
+    @Override
+    protected void onContentReceived(ContentDecoder decoder, IOControl ioControl) throws IOException {
+        int read;
+        while ((read = decoder.read(buffer)) > 0) {
+            if (feed != null && !fieldResolved) {
+                fieldResolved = feed.feed(buffer.array(), 0, read);
+            } else if (errorBody != null && errorBody.size() < MAX_ERROR_BODY_BYTES) {
+                errorBody.write(buffer.array(), 0, Math.min(read, MAX_ERROR_BODY_BYTES - errorBody.size()));
+            }
+            buffer.clear();
+        }
+    }
+
+    @Override
+    protected Result buildResult(HttpContext context) throws IOException {
+        String field = feed != null ? feed.finish() : null;
+        byte[] body = errorBody != null ? errorBody.toByteArray() : new byte[0];
+        return new Result(response, field, body);
+    }
+
+    @Override
+    protected void releaseResources() {
+        if (feed != null) {
+            try {
+                feed.close();
+            } catch (IOException ignored) {
+                // Nothing to release beyond the parser's own buffers
+            }
+            feed = null;
+        }
+        errorBody = null;
+    }
+
+    /**
+     * The response head plus what was kept of its body.
+     */
+    static final class Result {
+
+        final HttpResponse response;
+        final String field;
+        final byte[] errorBody;
+
+        Result(HttpResponse response, String field, byte[] errorBody) {
+            this.response = response;
+            this.field = field;
+            this.errorBody = errorBody;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.serviceconsumer.client;
+
+import com.example.serviceconsumer.concurrent.RequestDeadline;
+import com.example.serviceconsumer.interceptor.RestTemplateRequestIdInterceptor;
+import com.example.serviceconsumer.monitor.LatencyMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.nio.client.methods.HttpAsyncMethods;
+import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.UnknownHttpStatusCodeException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking HTTP client for SlowDependency (dependency.client.mode=nio).
+ * 
+ * Requests are multiplexed over a small fixed number of I/O reactor threads
+ * ("dependency-nio-*"), so an outstanding call to a slow dependency costs a
+ * socket and a few objects instead of a blocked thread.
+ * 
+ * Connect, read and lease timeouts are clamped per request to the caller's
+ * remaining deadline ({@link RequestDeadline}), like the blocking client's.
+ * 
+ * Failures are reported with the same exception types RestTemplate uses
+ * (ResourceAccessException, HttpClientErrorException, ...), so error handling
+ * upstream does not depend on the client mode.
+ * 
+ * Response bodies are never buffered whole: the wanted JSON field is extracted
+ * as the body arrives ({@link JsonFieldResponseConsumer}).
+ */
+@Slf4j
+public class NioDependencyClient {
+
+    private final CloseableHttpAsyncClient httpClient;
+    private final RestTemplateRequestIdInterceptor requestIdInterceptor;
+    private final LatencyMetrics latencyMetrics;
+    private final RequestConfig defaultRequestConfig;
+
+    public NioDependencyClient(CloseableHttpAsyncClient httpClient,
+                               RestTemplateRequestIdInterceptor requestIdInterceptor,
+                               LatencyMetrics latencyMetrics,
+                               RequestConfig defaultRequestConfig) {
+        this.httpClient = httpClient;
+        this.requestIdInterceptor = requestIdInterceptor;
+        this.latencyMetrics = latencyMetrics;
+        this.defaultRequestConfig = defaultRequestConfig;
+    }
+
+    /**
+     * Send a GET without blocking the calling thread and extract one JSON field
+     * from the response body as it streams in.
+     * 
+     * The returned future is completed on an I/O reactor thread with the
+     * caller's MDC restored, so logging in dependent stages keeps the request ID.
+     * Cancelling the future aborts the underlying exchange.
+     * 
+     * @param url Target URL
+     * @param extractor Field to extract from a successful response
+     * @return Future completed with the field's value (null as for
+     *         {@link JsonFieldExtractor#extract}), or exceptionally with a
+     *         RestClientException
+     */
+    public CompletableFuture<String> get(String url, JsonFieldExtractor extractor) {
+        HttpGet request = new HttpGet(url);
+        if (RequestDeadline.isPresent()) {
+            request.setConfig(DeadlineAwareRequestFactory.clampToDeadline(defaultRequestConfig));
+        }
+        HttpClientContext context = HttpClientContext.create();
+        requestIdInterceptor.captureRequestId(context);
+
+        Map<String, String> contextMap = MDC.getCopyOfContextMap();
+        long deadlineNanos = RequestDeadline.current();
+        String host = request.getURI().getAuthority();
+        long startTime = System.nanoTime();
+        log.debug("Outbound NIO request: GET {}", url);
+
+        CompletableFuture<String> result = new CompletableFuture<>();
+
+        Future<JsonFieldResponseConsumer.Result> exchange = httpClient.execute(HttpAsyncMethods.create(request),
+                new JsonFieldResponseConsumer(extractor), context, new FutureCallback<JsonFieldResponseConsumer.Result>() {
+            @Override
+            public void completed(JsonFieldResponseConsumer.Result completed) {
+                withMdc(contextMap, deadlineNanos, () -> {
+                    HttpResponse response = completed.response;
+                    long durationNanos = System.nanoTime() - startTime;
+                    int statusCode = response.getStatusLine().getStatusCode();
+                    latencyMetrics.recordOutbound(host, statusCode, durationNanos);
+                    log.debug("Outbound NIO response: GET {} - Status: {} - Duration: {}ms",
+                            url, statusCode, TimeUnit.NANOSECONDS.toMillis(durationNanos));
+
+                    if (statusCode >= 400) {
+                        result.completeExceptionally(toStatusException(response, completed.errorBody));
+                    } else {
+                        result.complete(completed.field);
+                    }
+                });
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                withMdc(contextMap, deadlineNanos, () -> {
+                    long durationNanos = System.nanoTime() - startTime;
+                    latencyMetrics.recordOutbound(host, 0, durationNanos);
+                    log.error("Outbound NIO request failed: GET {} - Duration: {}ms - Error: {}",
+                            url, TimeUnit.NANOSECONDS.toMillis(durationNanos), ex.getMessage());
+
+                    result.completeExceptionally(new ResourceAccessException(
+                            "I/O error on GET request for \"" + url + "\": " + ex.getMessage(),
+                            ex instanceof IOException ? (IOException) ex : new IOException(ex)));
+                });
+            }
+
+            @Override
+            public void cancelled() {
+                result.cancel(false);
+            }
+        });
+
+        result.whenComplete((field, ex) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+
+        return result;
+    }
+
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    private static RestClientException toStatusException(HttpResponse response, byte[] body) {
+        int statusCode = response.getStatusLine().getStatusCode();
+        String statusText = response.getStatusLine().getReasonPhrase();
+
+        HttpHeaders headers = new HttpHeaders();
+        for (Header header : response.getAllHeaders()) {
+            headers.add(header.getName(), header.getValue());
+        }
+
+        HttpStatus status = HttpStatus.resolve(statusCode);
+        if (status == null) {
+            return new UnknownHttpStatusCodeException(statusCode, statusText, headers, body, StandardCharsets.UTF_8);
+        }
+        if (status.is4xxClientError()) {
+            return HttpClientErrorException.create(status, statusText, headers, body, StandardCharsets.UTF_8);
+        }
+        return HttpServerErrorException.create(status, statusText, headers, body, StandardCharsets.UTF_8);
+    }
+
+    private static void withMdc(Map<String, String> contextMap, long deadlineNanos, Runnable action) {
+        if (contextMap != null) {
+            MDC.setContextMap(contextMap);
+        }
+        RequestDeadline.set(deadlineNanos);
+        try {
+            action.run();
+        } finally {
+            MDC.clear();
+            RequestDeadline.clear();
+        }
+    }
+}
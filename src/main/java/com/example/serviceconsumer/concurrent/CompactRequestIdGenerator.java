@@ -0,0 +1,91 @@
+package com.example.serviceconsumer.concurrent;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request IDs built from a timestamp, a node ID and a counter, written as 24
+ * lowercase Crockford base32 characters:
+ * 
+ * - 10 characters: milliseconds since the epoch
+ * - 6 characters: node ID (30 bits), random per instance unless configured
+ * - 8 characters: counter (40 bits, wraps)
+ * 
+ * e.g. 01hc3m9x2q7f4k8dw000a1b2
+ * 
+ * Two IDs from the same node can only collide if they were generated in the
+ * same millisecond with counters 2^40 apart, so IDs are unique across
+ * instances as long as node IDs are. Within one thread, IDs sort in the order
+ * they were generated (the timestamp never goes backwards per thread).
+ * 
+ * The counter is handed out to threads in blocks of {@link #BLOCK_SIZE}, so
+ * the shared AtomicLong is touched once per block rather than once per ID,
+ * and no SecureRandom is involved after startup. On virtual threads (one
+ * thread per request) each request reserves its own block, which still costs
+ * a single atomic add.
+ */
+public class CompactRequestIdGenerator implements RequestIdGenerator {
+
+    public static final int LENGTH = 24;
+    public static final int BLOCK_SIZE = 1024;
+
+    private static final char[] ALPHABET = "0123456789abcdefghjkmnpqrstvwxyz".toCharArray();
+    private static final int TIMESTAMP_CHARS = 10;
+    private static final int NODE_CHARS = 6;
+    private static final int COUNTER_CHARS = 8;
+    private static final long NODE_MASK = (1L << (NODE_CHARS * 5)) - 1;
+
+    private final long nodeId;
+    private final AtomicLong counter = new AtomicLong();
+    private final ThreadLocal<ThreadState> threadState = ThreadLocal.withInitial(ThreadState::new);
+
+    /**
+     * @param nodeId Node ID (lower 30 bits are used), or a negative value to
+     *               pick a random one
+     */
+    public CompactRequestIdGenerator(long nodeId) {
+        this.nodeId = (nodeId >= 0 ? nodeId : new SecureRandom().nextLong()) & NODE_MASK;
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public String nextId() {
+        ThreadState state = threadState.get();
+
+        if (state.next == state.end) {
+            state.next = counter.getAndAdd(BLOCK_SIZE);
+            state.end = state.next + BLOCK_SIZE;
+        }
+        long sequence = state.next++;
+
+        long millis = Math.max(System.currentTimeMillis(), state.lastMillis);
+        state.lastMillis = millis;
+
+        char[] buffer = state.buffer;
+        encode(buffer, 0, TIMESTAMP_CHARS, millis);
+        encode(buffer, TIMESTAMP_CHARS, NODE_CHARS, nodeId);
+        encode(buffer, TIMESTAMP_CHARS + NODE_CHARS, COUNTER_CHARS, sequence);
+        return new String(buffer);
+    }
+
+    /**
+     * Write the low (length * 5) bits of value as base32 digits, most
+     * significant first.
+     */
+    private static void encode(char[] buffer, int offset, int length, long value) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            buffer[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+    }
+
+    private static final class ThreadState {
+        private final char[] buffer = new char[LENGTH];
+        private long next;
+        private long end;
+        private long lastMillis;
+    }
+}
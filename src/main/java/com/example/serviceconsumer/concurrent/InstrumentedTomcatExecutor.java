@@ -0,0 +1,188 @@
+package com.example.serviceconsumer.concurrent;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.tomcat.util.threads.TaskQueue;
+import org.apache.tomcat.util.threads.TaskThreadFactory;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tomcat worker executor that measures queue wait and worker busy time.
+ * 
+ * Built the same way Tomcat builds its internal executor (TaskQueue, daemon
+ * "http-nio-{port}-exec-*" threads), so pool behaviour is unchanged. Every task
+ * handed over by the poller is stamped on submission:
+ * - Queue wait: time from submission until a worker starts the task, recorded
+ *   into an HdrHistogram Recorder (wait-free, allocation-free)
+ * - Busy time: time workers spend running tasks, including tasks still running,
+ *   so a worker blocked on SlowDependency counts as busy while it is blocked.
+ *   Each worker keeps its own busy time in a single volatile long, so a reader
+ *   never sees a half-applied update
+ * - Sojourn time: how long the task the current thread is running had waited
+ *   until now, used for queue-time based load shedding
+ */
+public class InstrumentedTomcatExecutor extends ThreadPoolExecutor {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final Recorder queueWaitRecorder = new Recorder(1, HIGHEST_TRACKABLE_NANOS, 2);
+
+    // Clock times are offsets from here, so they fit WorkerClock's encoding
+    private final long epochNanos = System.nanoTime();
+
+    // Busy time = sum over worker clocks. Clocks of exited workers keep their time and are reused
+    private final Queue<WorkerClock> workerClocks = new ConcurrentLinkedQueue<>();
+    private final Queue<WorkerClock> freeWorkerClocks = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<WorkerClock> workerClock = new ThreadLocal<>();
+
+    private final ThreadLocal<TimedTask> currentTask = new ThreadLocal<>();
+
+    public InstrumentedTomcatExecutor(int minSpareThreads, int maxThreads, String threadNamePrefix) {
+        super(minSpareThreads, maxThreads, 60, TimeUnit.SECONDS, new TaskQueue(),
+                new TaskThreadFactory(threadNamePrefix, true, Thread.NORM_PRIORITY));
+        ((TaskQueue) getQueue()).setParent(this);
+
+        // Workers hand their clock back when they exit (core threads prestarted above keep theirs)
+        ThreadFactory threadFactory = getThreadFactory();
+        setThreadFactory(worker -> threadFactory.newThread(() -> {
+            try {
+                worker.run();
+            } finally {
+                releaseWorkerClock();
+            }
+        }));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        super.execute(new TimedTask(command, System.nanoTime()));
+    }
+
+    /**
+     * Number of accepted requests waiting for a worker.
+     */
+    public int getQueueLength() {
+        return getQueue().size();
+    }
+
+    /**
+     * How long the request at the head of the queue has been waiting (0 if none).
+     * Unlike the recorded queue wait, this grows while requests are still queued.
+     */
+    public long getOldestQueuedWaitNanos() {
+        Runnable head = getQueue().peek();
+        if (head instanceof TimedTask) {
+            return Math.max(0, System.nanoTime() - ((TimedTask) head).submittedNanos);
+        }
+        return 0;
+    }
+
+    /**
+     * Time since the task running on the calling thread was handed to the pool,
+     * i.e. queue wait plus the time spent in it so far.
+     * 
+     * @return sojourn time in nanoseconds, or -1 if the calling thread is not
+     *         running a task of this executor
+     */
+    public long getCurrentTaskSojournNanos() {
+        TimedTask task = currentTask.get();
+        return task != null ? Math.max(0, System.nanoTime() - task.submittedNanos) : -1;
+    }
+
+    /**
+     * Total worker busy time since startup, including tasks still running.
+     */
+    public long getBusyNanos() {
+        long now = System.nanoTime() - epochNanos;
+        long busyNanos = 0;
+        for (WorkerClock clock : workerClocks) {
+            busyNanos += clock.busyNanos(now);
+        }
+        return busyNanos;
+    }
+
+    /**
+     * Queue waits recorded since the previous call.
+     * 
+     * @param recycle Histogram returned by the previous call (or null), reused
+     *                to avoid allocation
+     */
+    public Histogram getIntervalQueueWait(Histogram recycle) {
+        return queueWaitRecorder.getIntervalHistogram(recycle);
+    }
+
+    private WorkerClock acquireWorkerClock() {
+        WorkerClock clock = workerClock.get();
+        if (clock == null) {
+            clock = freeWorkerClocks.poll();
+            if (clock == null) {
+                clock = new WorkerClock();
+                workerClocks.add(clock);
+            }
+            workerClock.set(clock);
+        }
+        return clock;
+    }
+
+    private void releaseWorkerClock() {
+        WorkerClock clock = workerClock.get();
+        if (clock != null) {
+            workerClock.remove();
+            freeWorkerClocks.add(clock);
+        }
+    }
+
+    /**
+     * Busy time of one worker thread, written only by that thread.
+     */
+    private static final class WorkerClock {
+
+        // Idle: busy nanos << 1. Running a task: (busy nanos - task start) << 1 | 1
+        private volatile long state;
+
+        long busyNanos(long now) {
+            long current = state;
+            return (current & 1) == 0 ? current >> 1 : (current >> 1) + now;
+        }
+
+        void start(long startNanos) {
+            state = (((state >> 1) - startNanos) << 1) | 1;
+        }
+
+        void stop(long endNanos) {
+            state = ((state >> 1) + endNanos) << 1;
+        }
+    }
+
+    private final class TimedTask implements Runnable {
+
+        private final Runnable task;
+        private final long submittedNanos;
+
+        TimedTask(Runnable task, long submittedNanos) {
+            this.task = task;
+            this.submittedNanos = submittedNanos;
+        }
+
+        @Override
+        public void run() {
+            long startNanos = System.nanoTime();
+            queueWaitRecorder.recordValue(Math.max(1, Math.min(startNanos - submittedNanos, HIGHEST_TRACKABLE_NANOS)));
+
+            WorkerClock clock = acquireWorkerClock();
+            clock.start(startNanos - epochNanos);
+            currentTask.set(this);
+            try {
+                task.run();
+            } finally {
+                currentTask.remove();
+                clock.stop(System.nanoTime() - epochNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.serviceconsumer.concurrent;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+/**
+ * Task decorator that carries the submitting thread's MDC (request ID) and
+ * {@link RequestDeadline} over to the worker thread that runs the task.
+ * 
+ * Without this, log lines and outbound X-Request-ID headers produced off the
+ * Tomcat worker thread would lose the request ID, and calls made there would
+ * ignore the request's deadline.
+ */
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> contextMap = MDC.getCopyOfContextMap();
+        long deadlineNanos = RequestDeadline.current();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            long previousDeadlineNanos = RequestDeadline.current();
+            RequestDeadline.set(deadlineNanos);
+            if (contextMap != null) {
+                MDC.setContextMap(contextMap);
+            } else {
+                MDC.clear();
+            }
+            try {
+                runnable.run();
+            } finally {
+                RequestDeadline.set(previousDeadlineNanos);
+                if (previous != null) {
+                    MDC.setContextMap(previous);
+                } else {
+                    MDC.clear();
+                }
+            }
+        };
+    }
+}
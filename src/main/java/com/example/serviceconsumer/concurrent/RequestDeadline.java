@@ -0,0 +1,103 @@
+package com.example.serviceconsumer.concurrent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The current request's end-to-end deadline.
+ *
+ * The deadline is started by RequestIdFilter from the inbound
+ * X-Request-Timeout-Ms header (or a per-endpoint default) and kept in a
+ * thread-local as an absolute System.nanoTime() value: checking it is a field
+ * read, with no parsing or allocation. MdcTaskDecorator and the NIO client
+ * carry it onto bulkhead, hedging, retry and I/O threads alongside the MDC.
+ *
+ * Outbound calls read the remaining budget from here to clamp their
+ * connect/read/lease timeouts and to forward the budget downstream.
+ * Threads without a deadline see {@link #NONE} and keep the configured
+ * static timeouts.
+ */
+public final class RequestDeadline {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    /**
+     * Remaining budget reported when the current thread has no deadline.
+     */
+    public static final long NONE = Long.MAX_VALUE;
+
+    /**
+     * Value of {@link #current()} when the current thread has no deadline.
+     */
+    public static final long UNSET = Long.MIN_VALUE;
+
+    // One mutable slot per thread, so starting and carrying a deadline does not box
+    private static final ThreadLocal<long[]> DEADLINE_NANOS = ThreadLocal.withInitial(() -> new long[] {UNSET});
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * Start a deadline budgetMs from now on the current thread.
+     */
+    public static void start(long budgetMs) {
+        set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMs));
+    }
+
+    public static void clear() {
+        set(UNSET);
+    }
+
+    /**
+     * @return the current thread's deadline as an absolute System.nanoTime()
+     *         value, or {@link #UNSET}; hand it to {@link #set} on another thread
+     */
+    public static long current() {
+        return DEADLINE_NANOS.get()[0];
+    }
+
+    /**
+     * Adopt a deadline captured with {@link #current()}; {@link #UNSET} clears it.
+     */
+    public static void set(long deadlineNanos) {
+        DEADLINE_NANOS.get()[0] = deadlineNanos;
+    }
+
+    public static boolean isPresent() {
+        return current() != UNSET;
+    }
+
+    /**
+     * @return milliseconds left until the deadline (zero or negative once it has
+     *         passed), or {@link #NONE} if the current thread has no deadline
+     */
+    public static long remainingMillis() {
+        long deadlineNanos = current();
+        if (deadlineNanos == UNSET) {
+            return NONE;
+        }
+        long remainingNanos = deadlineNanos - System.nanoTime();
+        // Round up so that a budget with less than 1ms left is not reported as expired
+        return remainingNanos <= 0 ? TimeUnit.NANOSECONDS.toMillis(remainingNanos)
+                : (remainingNanos + 999_999) / 1_000_000;
+    }
+
+    public static boolean isExpired() {
+        return remainingMillis() <= 0;
+    }
+
+    /**
+     * Clamp a configured timeout to the remaining budget.
+     *
+     * @param timeoutMs Configured timeout; zero or negative means none
+     * @return timeoutMs if there is no deadline, otherwise the smaller of the two,
+     *         never below 1ms (HttpClient treats 0 as "wait forever")
+     */
+    public static int clampTimeout(int timeoutMs) {
+        long remaining = remainingMillis();
+        if (remaining == NONE) {
+            return timeoutMs;
+        }
+        int budget = (int) Math.max(1, Math.min(remaining, Integer.MAX_VALUE));
+        return timeoutMs <= 0 ? budget : Math.min(timeoutMs, budget);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.serviceconsumer.concurrent;
+
+/**
+ * Source of request IDs for requests that arrive without an X-Request-ID header.
+ * 
+ * Implementations must be thread-safe and return IDs that are unique across
+ * instances of the service, since they are propagated to downstream services.
+ * Selected with request-id.generator (see RequestIdConfig).
+ */
+public interface RequestIdGenerator {
+
+    String nextId();
+}
@@ -0,0 +1,115 @@
+package com.example.serviceconsumer.concurrent;
+
+import com.example.serviceconsumer.model.CoalescingStats;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into a single in-flight call.
+ * 
+ * The first caller for a key starts the call; callers arriving while it is in
+ * flight share its result or error. Once it completes the key is released, so
+ * there is no staleness - the next caller starts a new call.
+ * 
+ * At most maxWaiters callers join one call; further callers start their own
+ * call instead of piling onto a single one.
+ */
+public class SingleFlight<K, V> {
+
+    private final boolean enabled;
+    private final int maxWaiters;
+    private final ConcurrentMap<K, InFlight<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder coalescedCalls = new LongAdder();
+    private final LongAdder overflowCalls = new LongAdder();
+
+    public SingleFlight(boolean enabled, int maxWaiters) {
+        this.enabled = enabled;
+        this.maxWaiters = maxWaiters;
+    }
+
+    /**
+     * Run the call for a key, or join the one already in flight.
+     * 
+     * Every caller gets its own dependent future, so one caller cancelling
+     * (e.g. on its request timeout) does not cancel the shared call.
+     * 
+     * @param key  Identity of the outbound request
+     * @param call Starts the outbound request
+     * @return Future completed with the shared result
+     */
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+        if (!enabled) {
+            calls.increment();
+            return call.get();
+        }
+
+        while (true) {
+            InFlight<V> existing = inFlight.get(key);
+
+            if (existing != null) {
+                if (existing.waiters.incrementAndGet() <= maxWaiters) {
+                    coalescedCalls.increment();
+                    return existing.future.thenApply(Function.identity());
+                }
+                overflowCalls.increment();
+                calls.increment();
+                return call.get();
+            }
+
+            InFlight<V> created = new InFlight<>();
+            if (inFlight.putIfAbsent(key, created) != null) {
+                continue; // Lost the race to another leader - join it instead
+            }
+
+            calls.increment();
+            CompletableFuture<V> future;
+            try {
+                future = call.get();
+            } catch (RuntimeException e) {
+                inFlight.remove(key, created);
+                created.future.completeExceptionally(e);
+                throw e;
+            }
+
+            future.whenComplete((value, ex) -> {
+                inFlight.remove(key, created);
+                if (ex != null) {
+                    created.future.completeExceptionally(ex);
+                } else {
+                    created.future.complete(value);
+                }
+            });
+
+            return created.future.thenApply(Function.identity());
+        }
+    }
+
+    public CoalescingStats getStats() {
+        long callCount = calls.sum();
+        long coalescedCount = coalescedCalls.sum();
+        long total = callCount + coalescedCount;
+
+        return CoalescingStats.builder()
+                .enabled(enabled)
+                .maxWaiters(maxWaiters)
+                .inFlightKeys(inFlight.size())
+                .calls(callCount)
+                .coalescedCalls(coalescedCount)
+                .overflowCalls(overflowCalls.sum())
+                .coalescingRatio(total == 0 ? 0.0 : (double) coalescedCount / total)
+                .build();
+    }
+
+    private static final class InFlight<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+}
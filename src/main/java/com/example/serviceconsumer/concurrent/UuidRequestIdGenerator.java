@@ -0,0 +1,17 @@
+package com.example.serviceconsumer.concurrent;
+
+import java.util.UUID;
+
+/**
+ * Random (version 4) UUIDs, e.g. 3f2b8c1e-6a4d-4e0f-9b7a-2c5d8e1f0a3b.
+ * 
+ * Every ID draws 16 bytes from the JVM-wide SecureRandom, which is
+ * synchronized and becomes a point of contention at high request rates.
+ */
+public class UuidRequestIdGenerator implements RequestIdGenerator {
+
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.serviceconsumer.concurrent;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tomcat worker executor running every request on a new virtual thread
+ * (virtual-threads.enabled=true).
+ * 
+ * There is no pool and no queue: a request blocked on SlowDependency parks its
+ * virtual thread and frees the carrier thread, so the number of concurrent
+ * blocking requests is bounded by server.tomcat.max-connections rather than
+ * by server.tomcat.threads.max. Counts in-flight and completed requests, since
+ * virtual threads do not show up in platform pool statistics.
+ */
+public class VirtualThreadTomcatExecutor implements Executor {
+
+    private final ExecutorService executor;
+
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+
+    public VirtualThreadTomcatExecutor(String threadNamePrefix) {
+        this.executor = VirtualThreads.newThreadPerTaskExecutor(threadNamePrefix);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        inFlight.increment();
+        try {
+            executor.execute(() -> {
+                try {
+                    command.run();
+                } finally {
+                    inFlight.decrement();
+                    completed.increment();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.decrement();
+            throw e;
+        }
+        started.increment();
+    }
+
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    public long getStarted() {
+        return started.sum();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.serviceconsumer.config;
+
+import com.example.serviceconsumer.concurrent.MdcTaskDecorator;
+import com.example.serviceconsumer.concurrent.VirtualThreads;
+import com.example.serviceconsumer.resilience.Bulkhead;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the bulkhead that runs all SlowDependency calls.
+ * 
+ * Every dependency call (blocking or async mode) runs on the bulkhead's
+ * dedicated "dependency-*" threads. When both the threads and the queue are
+ * in use, further calls are rejected immediately (503) instead of waiting
+ * 3 seconds for a hanging dependency.
+ * 
+ * In virtual-thread mode the bulkhead threads are virtual ("dependency-virtual-*");
+ * the bulkhead still caps how many calls run at once.
+ */
+@Slf4j
+@Configuration
+public class BulkheadConfig {
+
+    @Value("${dependency.bulkhead.max-concurrent-calls}")
+    private int maxConcurrentCalls;
+
+    @Value("${dependency.bulkhead.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${virtual-threads.enabled}")
+    private boolean virtualThreads;
+
+    @Bean(destroyMethod = "shutdown")
+    public Bulkhead dependencyBulkhead() {
+        log.info("Dependency bulkhead configured with maxConcurrentCalls={}, queueCapacity={}, virtualThreads={}",
+                maxConcurrentCalls, queueCapacity, virtualThreads);
+
+        if (virtualThreads) {
+            return new Bulkhead("dependency", maxConcurrentCalls, queueCapacity, new MdcTaskDecorator(),
+                    VirtualThreads.threadFactory("dependency-virtual-"));
+        }
+        return new Bulkhead("dependency", maxConcurrentCalls, queueCapacity, new MdcTaskDecorator());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.serviceconsumer.config;
+
+import com.example.serviceconsumer.resilience.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the circuit breaker around SlowDependency.
+ * 
+ * When SlowDependency keeps failing or answering slowly, the breaker opens and
+ * calls fail in microseconds (503) instead of each paying the 2s/3s timeouts.
+ * After the open wait it lets a few probe calls through to detect recovery.
+ */
+@Slf4j
+@Configuration
+public class CircuitBreakerConfig {
+
+    @Value("${dependency.circuit-breaker.sliding-window-size}")
+    private int slidingWindowSize;
+
+    @Value("${dependency.circuit-breaker.minimum-number-of-calls}")
+    private int minimumNumberOfCalls;
+
+    @Value("${dependency.circuit-breaker.failure-rate-threshold}")
+    private float failureRateThreshold;
+
+    @Value("${dependency.circuit-breaker.slow-call-rate-threshold}")
+    private float slowCallRateThreshold;
+
+    @Value("${dependency.circuit-breaker.slow-call-duration-threshold}")
+    private long slowCallDurationThreshold;
+
+    @Value("${dependency.circuit-breaker.wait-duration-in-open-state}")
+    private long waitDurationInOpenState;
+
+    @Value("${dependency.circuit-breaker.permitted-calls-in-half-open-state}")
+    private int permittedCallsInHalfOpenState;
+
+    @Bean
+    public CircuitBreaker dependencyCircuitBreaker() {
+        log.info("Dependency circuit breaker configured with slidingWindowSize={}, failureRateThreshold={}%, "
+                        + "slowCallRateThreshold={}% (>{}ms), waitDurationInOpenState={}ms, halfOpenProbes={}",
+                slidingWindowSize, failureRateThreshold, slowCallRateThreshold, slowCallDurationThreshold,
+                waitDurationInOpenState, permittedCallsInHalfOpenState);
+
+        return new CircuitBreaker("dependency",
+                slidingWindowSize,
+                minimumNumberOfCalls,
+                failureRateThreshold,
+                slowCallRateThreshold,
+                slowCallDurationThreshold,
+                waitDurationInOpenState,
+                permittedCallsInHalfOpenState);
+    }
+}
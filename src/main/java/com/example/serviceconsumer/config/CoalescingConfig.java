@@ -0,0 +1,32 @@
+package com.example.serviceconsumer.config;
+
+import com.example.serviceconsumer.concurrent.SingleFlight;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for coalescing concurrent identical calls to SlowDependency.
+ * 
+ * When a burst of /api/process-data requests misses the cache at the same
+ * time, only one GET is sent and all callers share its result or error.
+ */
+@Slf4j
+@Configuration
+public class CoalescingConfig {
+
+    @Value("${dependency.coalescing.enabled}")
+    private boolean enabled;
+
+    @Value("${dependency.coalescing.max-waiters}")
+    private int maxWaiters;
+
+    @Bean
+    public SingleFlight<String, String> dependencySingleFlight() {
+        log.info("Dependency request coalescing configured with enabled={}, maxWaiters={}",
+                enabled, maxWaiters);
+
+        return new SingleFlight<>(enabled, maxWaiters);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.serviceconsumer.config;
+
+import com.example.serviceconsumer.resilience.AdaptiveConcurrencyLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the adaptive concurrency limit on /api/process-data.
+ * 
+ * Instead of a fixed thread count, the number of concurrent requests is derived
+ * from observed latency: it grows while the dependency is fast and shrinks as
+ * soon as requests start queueing, so a slow dependency cannot take the whole
+ * Tomcat pool.
+ */
+@Slf4j
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    @Value("${concurrency-limit.enabled}")
+    private boolean enabled;
+
+    @Value("${concurrency-limit.initial-limit}")
+    private int initialLimit;
+
+    @Value("${concurrency-limit.min-limit}")
+    private int minLimit;
+
+    @Value("${concurrency-limit.max-limit}")
+    private int maxLimit;
+
+    @Value("${concurrency-limit.window-size}")
+    private int windowSize;
+
+    @Value("${concurrency-limit.rtt-tolerance}")
+    private double rttTolerance;
+
+    @Value("${concurrency-limit.smoothing}")
+    private double smoothing;
+
+    @Bean
+    public AdaptiveConcurrencyLimiter processDataConcurrencyLimiter() {
+        log.info("Adaptive concurrency limit configured with enabled={}, initialLimit={}, minLimit={}, "
+                        + "maxLimit={}, windowSize={}, rttTolerance={}, smoothing={}",
+                enabled, initialLimit, minLimit, maxLimit, windowSize, rttTolerance, smoothing);
+
+        return new AdaptiveConcurrencyLimiter(enabled, initialLimit, minLimit, maxLimit,
+                windowSize, rttTolerance, smoothing);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.serviceconsumer.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the control-plane lane: a second Tomcat connector on its
+ * own port, with its own acceptor, poller and worker threads.
+ * 
+ * /api/health, /api/metrics and /actuator/** are served on this port by
+ * threads that never run dependency calls, so liveness checks stay fast even
+ * when every worker of the main connector is blocked on SlowDependency.
+ * ControlPlaneLaneFilter keeps data endpoints off this port.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "control-plane.enabled", havingValue = "true")
+public class ControlPlaneConfig {
+
+    @Value("${control-plane.port}")
+    private int port;
+
+    @Value("${control-plane.threads.max}")
+    private int maxThreads;
+
+    @Value("${control-plane.threads.min-spare}")
+    private int minSpareThreads;
+
+    @Value("${control-plane.accept-count}")
+    private int acceptCount;
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> controlPlaneConnectorCustomizer() {
+        return factory -> {
+            Connector connector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
+            connector.setPort(port);
+
+            AbstractHttp11Protocol<?> protocol = (AbstractHttp11Protocol<?>) connector.getProtocolHandler();
+            protocol.setMaxThreads(maxThreads);
+            protocol.setMinSpareThreads(minSpareThreads);
+            protocol.setAcceptCount(acceptCount);
+
+            factory.addAdditionalTomcatConnectors(connector);
+
+            log.info("Control-plane connector configured on port {} with maxThreads={}, minSpareThreads={}",
+                    port, maxThreads, minSpareThreads);
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.serviceconsumer.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Configuration for end-to-end request deadlines (deadline.*).
+ * 
+ * Deadlines are started by RequestIdFilter. The timer thread here fails a
+ * dependency call's future the moment its request's deadline passes; Tomcat's
+ * async timeouts and the NIO reactor's socket timeouts are only checked about
+ * once per second, which is too coarse for budgets of a few hundred ms.
+ */
+@Configuration
+public class DeadlineConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService requestDeadlineScheduler() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("request-deadline-");
+        threadFactory.setDaemon(true);
+        return Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.serviceconsumer.config;
+
+import com.example.serviceconsumer.resilience.Hedger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration for hedged requests to SlowDependency.
+ * 
+ * SlowDependency has a heavy latency tail (GC pauses on its side); sending a
+ * second request once a call is slower than p95 takes most of that tail off
+ * our own responses, at a bounded cost of max-extra-load additional calls.
+ */
+@Slf4j
+@Configuration
+public class HedgingConfig {
+
+    private static final long DELAY_UPDATE_INTERVAL_MS = 1000;
+
+    @Value("${dependency.hedging.enabled}")
+    private boolean enabled;
+
+    @Value("${dependency.hedging.delay}")
+    private long delay;
+
+    @Value("${dependency.hedging.percentile}")
+    private double percentile;
+
+    @Value("${dependency.hedging.min-delay}")
+    private long minDelay;
+
+    @Value("${dependency.hedging.min-samples}")
+    private int minSamples;
+
+    @Value("${dependency.hedging.max-extra-load}")
+    private double maxExtraLoad;
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService dependencyHedgingScheduler() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("dependency-hedger-");
+        threadFactory.setDaemon(true);
+        return Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    @Bean
+    public Hedger dependencyHedger(
+            @Qualifier("dependencyHedgingScheduler") ScheduledExecutorService dependencyHedgingScheduler) {
+        log.info("Dependency hedging configured with enabled={}, delay={}, percentile={}, minDelay={}ms, "
+                        + "minSamples={}, maxExtraLoad={}",
+                enabled, delay > 0 ? delay + "ms" : "tracked", percentile, minDelay, minSamples, maxExtraLoad);
+
+        Hedger hedger = new Hedger(enabled, delay, percentile, minDelay, minSamples, maxExtraLoad,
+                dependencyHedgingScheduler);
+
+        if (enabled && delay <= 0) {
+            dependencyHedgingScheduler.scheduleAtFixedRate(hedger::updateDelay,
+                    DELAY_UPDATE_INTERVAL_MS, DELAY_UPDATE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+        return hedger;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.serviceconsumer.config;
+
+import com.example.serviceconsumer.resilience.CoDelLoadShedder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for queue-time based load shedding at the servlet entry point.
+ * 
+ * With max-connections well above the worker count, requests can wait in the
+ * worker queue for seconds and are then served to clients that have already
+ * timed out. Shedding on queue sojourn time answers them with a fast 503
+ * instead, so worker time goes to requests that can still be useful.
+ */
+@Slf4j
+@Configuration
+public class LoadSheddingConfig {
+
+    @Value("${load-shedding.enabled}")
+    private boolean enabled;
+
+    @Value("${load-shedding.target}")
+    private long target;
+
+    @Value("${load-shedding.interval}")
+    private long interval;
+
+    @Value("${load-shedding.policy}")
+    private String policy;
+
+    @Bean
+    public CoDelLoadShedder requestLoadShedder() {
+        log.info("Load shedding configured with enabled={}, target={}ms, interval={}ms, policy={}",
+                enabled, target, interval, policy);
+
+        return new CoDelLoadShedder(enabled, target, interval, CoDelLoadShedder.Policy.valueOf(policy.toUpperCase()));
+    }
+}
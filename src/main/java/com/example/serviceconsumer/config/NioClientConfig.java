@@ -0,0 +1,94 @@
+package com.example.serviceconsumer.config;
+
+import com.example.serviceconsumer.client.NioDependencyClient;
+import com.example.serviceconsumer.interceptor.RestTemplateRequestIdInterceptor;
+import com.example.serviceconsumer.monitor.LatencyMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Configuration for the non-blocking dependency client, enabled with
+ * dependency.client.mode=nio.
+ * 
+ * This creates an HttpAsyncClient that:
+ * - Runs on http.client.nio.io-threads I/O reactor threads ("dependency-nio-*")
+ * - Uses the same connect/read timeouts as the blocking RestTemplate, clamped
+ *   to the caller's remaining deadline
+ * - Pools up to http.client.nio.max-total connections, so thousands of slow
+ *   calls can be outstanding without one thread each
+ * - Propagates request IDs through RestTemplateRequestIdInterceptor
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "dependency.client.mode", havingValue = "nio")
+public class NioClientConfig {
+
+    @Value("${http.client.connect-timeout}")
+    private int connectTimeout;
+
+    @Value("${http.client.read-timeout}")
+    private int readTimeout;
+
+    @Value("${http.client.pool.lease-timeout}")
+    private int leaseTimeout;
+
+    @Value("${http.client.nio.io-threads}")
+    private int ioThreads;
+
+    @Value("${http.client.nio.max-total}")
+    private int maxTotal;
+
+    @Value("${http.client.nio.max-per-route}")
+    private int maxPerRoute;
+
+    @Autowired
+    private RestTemplateRequestIdInterceptor requestIdInterceptor;
+
+    @Autowired
+    private LatencyMetrics latencyMetrics;
+
+    @Bean(destroyMethod = "close")
+    public NioDependencyClient nioDependencyClient() throws IOReactorException {
+        IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                .setIoThreadCount(ioThreads)
+                .setConnectTimeout(connectTimeout)
+                .setSoTimeout(readTimeout)
+                .build();
+
+        PoolingNHttpClientConnectionManager connectionManager = new PoolingNHttpClientConnectionManager(
+                new DefaultConnectingIOReactor(ioReactorConfig, new CustomizableThreadFactory("dependency-nio-")));
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setSocketTimeout(readTimeout)
+                .setConnectionRequestTimeout(leaseTimeout)
+                .build();
+
+        CloseableHttpAsyncClient httpClient = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .addInterceptorLast(requestIdInterceptor)
+                .setDefaultRequestConfig(requestConfig)
+                .build();
+        httpClient.start();
+
+        log.info("NIO dependency client configured with ioThreads={}, maxTotal={}, maxPerRoute={}, "
+                        + "connectTimeout={}ms, readTimeout={}ms",
+                ioThreads, maxTotal, maxPerRoute, connectTimeout, readTimeout);
+
+        return new NioDependencyClient(httpClient, requestIdInterceptor, latencyMetrics, requestConfig);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.serviceconsumer.config;
+
+import com.example.serviceconsumer.concurrent.CompactRequestIdGenerator;
+import com.example.serviceconsumer.concurrent.RequestIdGenerator;
+import com.example.serviceconsumer.concurrent.UuidRequestIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the IDs RequestIdFilter assigns to requests that arrive
+ * without an X-Request-ID header (request-id.*).
+ * 
+ * - compact (default): timestamp + node ID + counter, no shared lock per request
+ * - uuid: random UUIDs, which all go through one synchronized SecureRandom
+ */
+@Slf4j
+@Configuration
+public class RequestIdConfig {
+
+    @Value("${request-id.generator}")
+    private String generator;
+
+    @Value("${request-id.node-id}")
+    private long nodeId;
+
+    @Bean
+    public RequestIdGenerator requestIdGenerator() {
+        if ("uuid".equalsIgnoreCase(generator)) {
+            log.info("Request IDs generated as random UUIDs");
+            return new UuidRequestIdGenerator();
+        }
+
+        CompactRequestIdGenerator compact = new CompactRequestIdGenerator(nodeId);
+        log.info("Request IDs generated as compact IDs with nodeId={}", compact.getNodeId());
+        return compact;
+    }
+}
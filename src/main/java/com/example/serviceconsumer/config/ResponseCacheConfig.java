@@ -0,0 +1,44 @@
+package com.example.serviceconsumer.config;
+
+import com.example.serviceconsumer.cache.ResponseCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the in-memory cache of SlowDependency responses.
+ * 
+ * The dependency's message changes rarely, so most /api/process-data requests
+ * can be answered without the 100-200ms round trip. Expired entries are served
+ * stale while one background refresh runs, and stale values are served while
+ * the dependency is failing.
+ */
+@Slf4j
+@Configuration
+public class ResponseCacheConfig {
+
+    @Value("${dependency.cache.enabled}")
+    private boolean enabled;
+
+    @Value("${dependency.cache.max-entries}")
+    private int maxEntries;
+
+    @Value("${dependency.cache.ttl}")
+    private long ttl;
+
+    @Value("${dependency.cache.stale-while-revalidate}")
+    private long staleWhileRevalidate;
+
+    @Value("${dependency.cache.stale-if-error}")
+    private long staleIfError;
+
+    @Bean
+    public ResponseCache<String, String> dependencyResponseCache() {
+        log.info("Dependency response cache configured with enabled={}, maxEntries={}, ttl={}ms, "
+                        + "staleWhileRevalidate={}ms, staleIfError={}ms",
+                enabled, maxEntries, ttl, staleWhileRevalidate, staleIfError);
+
+        return new ResponseCache<>(enabled, maxEntries, ttl, staleWhileRevalidate, staleIfError);
+    }
+}
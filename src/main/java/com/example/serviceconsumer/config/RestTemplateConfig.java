@@ -1,17 +1,24 @@
 package com.example.serviceconsumer.config;
 
+import com.example.serviceconsumer.client.DeadlineAwareRequestFactory;
+import com.example.serviceconsumer.client.InstrumentedConnectionManager;
+import com.example.serviceconsumer.client.JsonFieldExtractor;
 import com.example.serviceconsumer.interceptor.RestTemplateRequestIdInterceptor;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Configuration for RestTemplate with timeouts and request ID propagation.
@@ -19,9 +26,16 @@ import java.util.List;
  * This configuration creates a RestTemplate that:
  * - Has a 2-second connection timeout
  * - Has a 3-second read timeout
+ * - Clamps all timeouts to the calling request's remaining deadline
+ * - Reuses keep-alive connections from a bounded pool (max total / per route)
+ * - Waits at most the lease timeout for a pooled connection
+ * - Evicts idle connections and re-validates ones idle for a while
  * - Propagates request IDs to downstream services
  * - Logs all outbound HTTP calls
  * 
+ * It also provides the streaming extractor that reads the configured message
+ * field (dependency.response.message-field) out of SlowDependency responses.
+ * 
  * These timeouts are intentionally set to demonstrate thread pool starvation
  * when the downstream service (SlowDependency) hangs.
  */
@@ -35,15 +49,70 @@ public class RestTemplateConfig {
     @Value("${http.client.read-timeout}")
     private int readTimeout;
 
+    @Value("${http.client.pool.max-total}")
+    private int maxTotal;
+
+    @Value("${http.client.pool.max-per-route}")
+    private int maxPerRoute;
+
+    @Value("${http.client.pool.lease-timeout}")
+    private int leaseTimeout;
+
+    @Value("${http.client.pool.idle-eviction}")
+    private long idleEviction;
+
+    @Value("${http.client.pool.validate-after-inactivity}")
+    private int validateAfterInactivity;
+
+    @Value("${dependency.response.message-field}")
+    private String messageField;
+
     @Autowired
     private RestTemplateRequestIdInterceptor requestIdInterceptor;
 
     @Bean
-    public RestTemplate restTemplate() {
-        // Create request factory with timeouts
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+    public InstrumentedConnectionManager dependencyConnectionManager() {
+        InstrumentedConnectionManager connectionManager = new InstrumentedConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity(validateAfterInactivity);
+
+        log.info("HTTP connection pool configured with maxTotal={}, maxPerRoute={}, leaseTimeout={}ms, "
+                        + "idleEviction={}ms, validateAfterInactivity={}ms",
+                maxTotal, maxPerRoute, leaseTimeout, idleEviction, validateAfterInactivity);
+
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient dependencyHttpClient(InstrumentedConnectionManager dependencyConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(dependencyConnectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(idleEviction, TimeUnit.MILLISECONDS)
+                // Failures must surface as-is to the circuit breaker, not be silently retried
+                .disableAutomaticRetries()
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(connectTimeout)
+                        .setSocketTimeout(readTimeout)
+                        .setConnectionRequestTimeout(leaseTimeout)
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public JsonFieldExtractor dependencyMessageExtractor(ObjectMapper objectMapper) {
+        return new JsonFieldExtractor(objectMapper.getFactory(), messageField);
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient dependencyHttpClient) {
+        // Create request factory with timeouts on top of the pooled client,
+        // clamped per request to the caller's remaining deadline
+        DeadlineAwareRequestFactory factory = new DeadlineAwareRequestFactory(dependencyHttpClient);
         factory.setConnectTimeout(connectTimeout);
         factory.setReadTimeout(readTimeout);
+        factory.setConnectionRequestTimeout(leaseTimeout);
 
         log.info("RestTemplate configured with connectTimeout={}ms, readTimeout={}ms",
                 connectTimeout, readTimeout);
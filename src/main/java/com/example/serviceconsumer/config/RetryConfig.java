@@ -0,0 +1,66 @@
+package com.example.serviceconsumer.config;
+
+import com.example.serviceconsumer.resilience.Retrier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Configuration for retries of SlowDependency calls.
+ * 
+ * A single dropped connection should not turn into a 500, so failed GETs are
+ * retried after a jittered backoff - but only within the request's deadline
+ * and within a retry budget of budget-ratio extra calls, so that retries
+ * cannot multiply the load on SlowDependency while it is down.
+ */
+@Slf4j
+@Configuration
+public class RetryConfig {
+
+    @Value("${dependency.retry.enabled}")
+    private boolean enabled;
+
+    @Value("${dependency.retry.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${dependency.retry.base-delay}")
+    private long baseDelay;
+
+    @Value("${dependency.retry.max-delay}")
+    private long maxDelay;
+
+    @Value("${dependency.retry.retryable-statuses}")
+    private List<Integer> retryableStatuses;
+
+    @Value("${dependency.retry.retry-on-timeout}")
+    private boolean retryOnTimeout;
+
+    @Value("${dependency.retry.budget-ratio}")
+    private double budgetRatio;
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService dependencyRetryScheduler() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("dependency-retry-");
+        threadFactory.setDaemon(true);
+        return Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    @Bean
+    public Retrier dependencyRetrier(
+            @Qualifier("dependencyRetryScheduler") ScheduledExecutorService dependencyRetryScheduler) {
+        log.info("Dependency retries configured with enabled={}, maxAttempts={}, backoff={}..{}ms, "
+                        + "retryableStatuses={}, retryOnTimeout={}, budgetRatio={}",
+                enabled, maxAttempts, baseDelay, maxDelay, retryableStatuses, retryOnTimeout, budgetRatio);
+
+        return new Retrier(enabled, maxAttempts, baseDelay, maxDelay, new HashSet<>(retryableStatuses),
+                retryOnTimeout, budgetRatio, dependencyRetryScheduler);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.serviceconsumer.config;
+
+import org.springframework.boot.task.TaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Configuration for the scheduler that runs @Scheduled tasks (monitors,
+ * latency windows, worker pool sampling).
+ * 
+ * Boot only auto-configures this scheduler when the context has no
+ * ScheduledExecutorService bean, and the hedging, retry and deadline timers
+ * are such beans. Without this bean, @Scheduled tasks would end up on one of
+ * those timer threads or on a fallback single-thread scheduler. It is still
+ * built from spring.task.scheduling.*.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(TaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.serviceconsumer.config;
+
+import com.example.serviceconsumer.concurrent.InstrumentedTomcatExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the Tomcat worker pool of the main connector.
+ * 
+ * Replaces Tomcat's internal executor with an InstrumentedTomcatExecutor of the
+ * same size (server.tomcat.threads.*), so queue length, queue wait and worker
+ * busy time can be measured. The control-plane connector keeps its own
+ * executor. In virtual-thread mode VirtualThreadConfig replaces it instead.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "virtual-threads.enabled", havingValue = "false", matchIfMissing = true)
+public class TomcatExecutorConfig {
+
+    @Value("${server.port}")
+    private int port;
+
+    @Value("${server.tomcat.threads.max}")
+    private int maxThreads;
+
+    @Value("${server.tomcat.threads.min-spare}")
+    private int minSpareThreads;
+
+    @Bean(destroyMethod = "shutdown")
+    public InstrumentedTomcatExecutor tomcatWorkerExecutor() {
+        log.info("Tomcat worker executor configured with maxThreads={}, minSpareThreads={}",
+                maxThreads, minSpareThreads);
+
+        return new InstrumentedTomcatExecutor(minSpareThreads, maxThreads, "http-nio-" + port + "-exec-");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> tomcatWorkerExecutorCustomizer(InstrumentedTomcatExecutor tomcatWorkerExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(tomcatWorkerExecutor);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.serviceconsumer.config;
+
+import com.example.serviceconsumer.concurrent.VirtualThreadTomcatExecutor;
+import com.example.serviceconsumer.concurrent.VirtualThreads;
+import com.example.serviceconsumer.monitor.VirtualThreadMonitor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for virtual-thread mode (virtual-threads.enabled=true, JDK 21+).
+ * 
+ * Tomcat request handling on the main connector runs on one virtual thread per
+ * request instead of the fixed server.tomcat.threads.max pool, and the
+ * dependency bulkhead runs its calls on virtual threads (see BulkheadConfig).
+ * A worker blocked on SlowDependency then parks a virtual thread instead of
+ * holding one of 20 platform threads.
+ * 
+ * Startup fails if the JDK does not support virtual threads.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Value("${server.port}")
+    private int port;
+
+    @Value("${virtual-threads.pinned-threshold}")
+    private long pinnedThresholdMs;
+
+    @Bean(destroyMethod = "shutdown")
+    public VirtualThreadTomcatExecutor virtualThreadTomcatExecutor() {
+        if (!VirtualThreads.isSupported()) {
+            throw new IllegalStateException("virtual-threads.enabled=true requires JDK 21 or later (running on "
+                    + System.getProperty("java.version") + ")");
+        }
+
+        log.info("Tomcat request handling configured on virtual threads (one per request)");
+
+        return new VirtualThreadTomcatExecutor("http-nio-" + port + "-virtual-");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadTomcatExecutorCustomizer(
+            VirtualThreadTomcatExecutor virtualThreadTomcatExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadTomcatExecutor);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public VirtualThreadMonitor virtualThreadMonitor(VirtualThreadTomcatExecutor virtualThreadTomcatExecutor) {
+        return new VirtualThreadMonitor(virtualThreadTomcatExecutor, Duration.ofMillis(pinnedThresholdMs));
+    }
+}
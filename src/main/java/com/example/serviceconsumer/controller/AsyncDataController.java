@@ -0,0 +1,175 @@
+package com.example.serviceconsumer.controller;
+
+import com.example.serviceconsumer.exception.DeadlineExceededException;
+import com.example.serviceconsumer.exception.DependencyRejectedException;
+import com.example.serviceconsumer.model.ApiResponse;
+import com.example.serviceconsumer.model.BatchRequest;
+import com.example.serviceconsumer.service.DependencyService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Async variant of {@link DataController}, enabled with dependency.async.enabled=true.
+ * 
+ * Serves the same /api/process-data endpoint, but:
+ * - Hands the SlowDependency call to the dependency bulkhead
+ * - Releases the Tomcat worker thread as soon as the call is submitted
+ * - Completes the response from the dependency executor thread
+ * - Times out after dependency.async.timeout ms (handled by GlobalExceptionHandler),
+ *   or with a 504 as soon as the request's deadline runs out
+ * 
+ * The Tomcat pool then only serves CPU work, so /api/health stays responsive
+ * even while every dependency call is hanging.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api")
+@ConditionalOnProperty(name = "dependency.async.enabled", havingValue = "true")
+public class AsyncDataController {
+
+    @Autowired
+    private DependencyService dependencyService;
+
+    @Value("${dependency.async.timeout}")
+    private long asyncTimeout;
+
+    /**
+     * Process data by fetching information from SlowDependency asynchronously.
+     * 
+     * Normal behavior: Returns data in ~100-200ms
+     * Failure behavior: Returns error after the read timeout, without holding a Tomcat thread
+     * Hung executor/queue: Returns 504 after dependency.async.timeout
+     * Deadline exceeded: Returns 504 as soon as the request's budget runs out
+     * 
+     * @return Deferred API response with data or error
+     */
+    @GetMapping("/process-data")
+    public DeferredResult<ResponseEntity<ApiResponse>> processData() {
+        long startTime = System.currentTimeMillis();
+
+        log.info("Incoming request: GET /api/process-data (async) - Thread: {}",
+                Thread.currentThread().getName());
+
+        DeferredResult<ResponseEntity<ApiResponse>> result = new DeferredResult<>(asyncTimeout);
+        CompletableFuture<String> future = dependencyService.fetchDataFromDependencyAsync();
+
+        // Timeout is rendered by GlobalExceptionHandler; set it before cancelling so the
+        // cancellation callback below cannot win the race with a 500
+        result.onTimeout(() -> {
+            log.error("Request timed out: GET /api/process-data (async) - Duration: {}ms",
+                    System.currentTimeMillis() - startTime);
+            result.setErrorResult(new AsyncRequestTimeoutException());
+            future.cancel(true);
+        });
+
+        future.whenComplete((data, ex) -> {
+            long processingTime = System.currentTimeMillis() - startTime;
+
+            if (ex == null) {
+                ApiResponse response = ApiResponse.builder()
+                        .status("success")
+                        .data(data)
+                        .message("Data processed successfully")
+                        .timestamp(LocalDateTime.now())
+                        .processingTimeMs(processingTime)
+                        .build();
+
+                log.info("Response: GET /api/process-data (async) - Status: 200 - Duration: {}ms",
+                        processingTime);
+
+                result.setResult(ResponseEntity.ok(response));
+                return;
+            }
+
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null
+                    ? ex.getCause() : ex;
+
+            if (cause instanceof DeadlineExceededException) {
+                // The caller's budget ran out - rendered as 504 by GlobalExceptionHandler
+                log.warn("Request deadline exceeded: GET /api/process-data (async) - Duration: {}ms",
+                        processingTime);
+                result.setErrorResult(cause);
+                return;
+            }
+
+            if (cause instanceof DependencyRejectedException) {
+                // Fast local rejection (bulkhead full, circuit open) - rendered as 503 by GlobalExceptionHandler
+                log.warn("Request rejected: GET /api/process-data (async) - Duration: {}ms - Reason: {}",
+                        processingTime, cause.getMessage());
+                result.setErrorResult(cause);
+                return;
+            }
+
+            log.error("Request failed: GET /api/process-data (async) - Duration: {}ms - Error: {}",
+                    processingTime, cause.getMessage());
+
+            ApiResponse response = ApiResponse.builder()
+                    .status("error")
+                    .message("Failed to fetch data from dependency")
+                    .error(cause.getMessage())
+                    .timestamp(LocalDateTime.now())
+                    .processingTimeMs(processingTime)
+                    .build();
+
+            result.setResult(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response));
+        });
+
+        return result;
+    }
+
+    /**
+     * Process a batch of items asynchronously: {"keys": ["a", "b", ...]}.
+     * 
+     * Same as {@link DataController#processBatch(BatchRequest)}, but the Tomcat
+     * worker is released while the items are fetched. Items still running after
+     * dependency.async.timeout fail the whole request with 504, like a single call.
+     * 
+     * @return Deferred 200 with one ApiResponse per key in data (same order as the keys)
+     */
+    @PostMapping("/process-data/batch")
+    public DeferredResult<ResponseEntity<ApiResponse>> processBatch(@RequestBody BatchRequest request) {
+        long startTime = System.currentTimeMillis();
+        int size = request.getKeys() != null ? request.getKeys().size() : 0;
+
+        log.info("Incoming request: POST /api/process-data/batch (async) - Items: {} - Thread: {}",
+                size, Thread.currentThread().getName());
+
+        DeferredResult<ResponseEntity<ApiResponse>> result = new DeferredResult<>(asyncTimeout);
+        CompletableFuture<List<ApiResponse>> future = dependencyService.fetchBatchAsync(request.getKeys());
+
+        result.onTimeout(() -> {
+            log.error("Request timed out: POST /api/process-data/batch (async) - Duration: {}ms",
+                    System.currentTimeMillis() - startTime);
+            result.setErrorResult(new AsyncRequestTimeoutException());
+            future.cancel(true);
+        });
+
+        // Never completes exceptionally; failed items are reported inside the response
+        future.thenAccept(items -> {
+            ApiResponse response = DataController.batchResponse(items, System.currentTimeMillis() - startTime);
+
+            log.info("Response: POST /api/process-data/batch (async) - Status: 200 - Items: {} - Result: {} - Duration: {}ms",
+                    size, response.getStatus(), response.getProcessingTimeMs());
+
+            result.setResult(ResponseEntity.ok(response));
+        });
+
+        return result;
+    }
+}
@@ -1,16 +1,23 @@
 package com.example.serviceconsumer.controller;
 
+import com.example.serviceconsumer.exception.DeadlineExceededException;
+import com.example.serviceconsumer.exception.DependencyRejectedException;
 import com.example.serviceconsumer.model.ApiResponse;
+import com.example.serviceconsumer.model.BatchRequest;
 import com.example.serviceconsumer.service.DependencyService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Controller for the VULNERABLE endpoint that calls SlowDependency.
@@ -22,10 +29,12 @@ import java.time.LocalDateTime;
  * - Once all threads are blocked, NO requests can be processed (not even /api/health)
  * 
  * This is the PRIMARY endpoint to demonstrate the cascading failure pattern.
+ * Active unless dependency.async.enabled=true (see {@link AsyncDataController}).
  */
 @Slf4j
 @RestController
 @RequestMapping("/api")
+@ConditionalOnProperty(name = "dependency.async.enabled", havingValue = "false", matchIfMissing = true)
 public class DataController {
 
     @Autowired
@@ -39,6 +48,7 @@ public class DataController {
      * Normal behavior: Returns data in ~100-200ms
      * Failure behavior: Waits 3 seconds (timeout), then returns error
      * Under load + failure: All threads blocked, entire app becomes unresponsive
+     * Deadline exceeded: Returns 504 as soon as the request's budget runs out
      * 
      * @return API response with data or error
      */
@@ -68,6 +78,18 @@ public class DataController {
             
             return ResponseEntity.ok(response);
             
+        } catch (DependencyRejectedException e) {
+            // Fast local rejection (bulkhead full, circuit open) - rendered as 503 by GlobalExceptionHandler
+            log.warn("Request rejected: GET /api/process-data - Duration: {}ms - Reason: {}",
+                    System.currentTimeMillis() - startTime, e.getMessage());
+            throw e;
+            
+        } catch (DeadlineExceededException e) {
+            // The caller's budget ran out - rendered as 504 by GlobalExceptionHandler
+            log.warn("Request deadline exceeded: GET /api/process-data - Duration: {}ms",
+                    System.currentTimeMillis() - startTime);
+            throw e;
+            
         } catch (Exception e) {
             long processingTime = System.currentTimeMillis() - startTime;
             
@@ -85,4 +107,46 @@ public class DataController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
+
+    /**
+     * Process a batch of items in one request: {"keys": ["a", "b", ...]}.
+     * 
+     * The items are fetched from SlowDependency in parallel, at most
+     * dependency.batch.max-concurrency at a time, within the request's deadline.
+     * This worker thread waits for the whole batch, but only once instead of
+     * once per item.
+     * 
+     * @return 200 with one ApiResponse per key in data (same order as the keys);
+     *         status is "success", "partial" or "error" depending on how many
+     *         items succeeded. 400 if there are no keys or too many.
+     */
+    @PostMapping("/process-data/batch")
+    public ResponseEntity<ApiResponse> processBatch(@RequestBody BatchRequest request) {
+        long startTime = System.currentTimeMillis();
+        int size = request.getKeys() != null ? request.getKeys().size() : 0;
+
+        log.info("Incoming request: POST /api/process-data/batch - Items: {} - Thread: {}",
+                size, Thread.currentThread().getName());
+
+        List<ApiResponse> items = dependencyService.fetchBatch(request.getKeys());
+        ApiResponse response = batchResponse(items, System.currentTimeMillis() - startTime);
+
+        log.info("Response: POST /api/process-data/batch - Status: 200 - Items: {} - Result: {} - Duration: {}ms",
+                size, response.getStatus(), response.getProcessingTimeMs());
+
+        return ResponseEntity.ok(response);
+    }
+
+    static ApiResponse batchResponse(List<ApiResponse> items, long processingTime) {
+        long succeeded = items.stream().filter(item -> "success".equals(item.getStatus())).count();
+        String status = succeeded == items.size() ? "success" : succeeded > 0 ? "partial" : "error";
+
+        return ApiResponse.builder()
+                .status(status)
+                .data(items)
+                .message(succeeded + " of " + items.size() + " items processed successfully")
+                .timestamp(LocalDateTime.now())
+                .processingTimeMs(processingTime)
+                .build();
+    }
 }
@@ -1,12 +1,32 @@
 package com.example.serviceconsumer.controller;
 
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import com.example.serviceconsumer.cache.ResponseCache;
+import com.example.serviceconsumer.client.InstrumentedConnectionManager;
+import com.example.serviceconsumer.concurrent.SingleFlight;
+import com.example.serviceconsumer.logging.RingBufferAsyncAppender;
+import com.example.serviceconsumer.model.AsyncLoggingStats;
 import com.example.serviceconsumer.model.MetricsResponse;
 import com.example.serviceconsumer.model.ThreadPoolStats;
+import com.example.serviceconsumer.model.WorkerPoolHistory;
+import com.example.serviceconsumer.monitor.LatencyMetrics;
+import com.example.serviceconsumer.monitor.VirtualThreadMonitor;
+import com.example.serviceconsumer.monitor.WorkerPoolAutoscaler;
+import com.example.serviceconsumer.monitor.WorkerPoolSampler;
+import com.example.serviceconsumer.resilience.AdaptiveConcurrencyLimiter;
+import com.example.serviceconsumer.resilience.Bulkhead;
+import com.example.serviceconsumer.resilience.CircuitBreaker;
+import com.example.serviceconsumer.resilience.CoDelLoadShedder;
+import com.example.serviceconsumer.resilience.Hedger;
+import com.example.serviceconsumer.resilience.Retrier;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
-import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -32,7 +52,43 @@ public class MetricsController {
     private String appVersion;
 
     @Autowired
-    private ServletWebServerApplicationContext webServerAppContext;
+    private Bulkhead dependencyBulkhead;
+
+    @Autowired
+    private CircuitBreaker dependencyCircuitBreaker;
+
+    @Autowired
+    private InstrumentedConnectionManager dependencyConnectionManager;
+
+    @Autowired
+    private ResponseCache<String, String> dependencyResponseCache;
+
+    @Autowired
+    private SingleFlight<String, String> dependencySingleFlight;
+
+    @Autowired
+    private Hedger dependencyHedger;
+
+    @Autowired
+    private Retrier dependencyRetrier;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter processDataConcurrencyLimiter;
+
+    @Autowired
+    private CoDelLoadShedder requestLoadShedder;
+
+    @Autowired
+    private LatencyMetrics latencyMetrics;
+
+    @Autowired(required = false)
+    private WorkerPoolSampler workerPoolSampler;
+
+    @Autowired(required = false)
+    private WorkerPoolAutoscaler workerPoolAutoscaler;
+
+    @Autowired(required = false)
+    private VirtualThreadMonitor virtualThreadMonitor;
 
     /**
      * Get application metrics including thread pool statistics.
@@ -43,6 +99,21 @@ public class MetricsController {
      * - Queue size (waiting requests)
      * - Completed tasks
      * - Whether thread pool is exhausted
+     * - Open connections, queue wait (p99/max) and worker busy percentage
+     * - Worker pool autoscaler bounds, current size, last decision and recent resizes
+     * - In virtual-thread mode, in-flight virtual threads, mounted carriers and
+     *   pinned events instead of the platform pool stats
+     * - Dependency bulkhead occupancy, queue depth and rejections
+     * - Circuit breaker state, failure/slow-call rates and recent transitions
+     * - Outbound connection pool usage, lease and reuse counts
+     * - Response cache hits, misses, stale serves and evictions
+     * - Request coalescing ratio
+     * - Hedge delay, hedges sent and hedges won
+     * - Retries sent, succeeded and skipped (budget exhausted, no time left)
+     * - Adaptive concurrency limit, in-flight requests and rejections
+     * - Load shedding state, queue sojourn estimate and shed requests
+     * - Latency percentiles per endpoint and per outbound host/status class
+     * - Async logging buffer fill, dropped events and write batches
      * 
      * @return Metrics response
      */
@@ -54,6 +125,19 @@ public class MetricsController {
 
         MetricsResponse response = MetricsResponse.builder()
                 .threadPool(threadPoolStats)
+                .workerPoolAutoscale(workerPoolAutoscaler != null ? workerPoolAutoscaler.getStats() : null)
+                .virtualThreads(virtualThreadMonitor != null ? virtualThreadMonitor.getStats() : null)
+                .bulkhead(dependencyBulkhead.getStats())
+                .circuitBreaker(dependencyCircuitBreaker.getStats())
+                .connectionPool(dependencyConnectionManager.getStats())
+                .cache(dependencyResponseCache.getStats())
+                .coalescing(dependencySingleFlight.getStats())
+                .hedging(dependencyHedger.getStats())
+                .retry(dependencyRetrier.getStats())
+                .concurrencyLimit(processDataConcurrencyLimiter.getStats())
+                .loadShedding(requestLoadShedder.getStats())
+                .latency(latencyMetrics.getReport())
+                .logging(getAsyncLoggingStats())
                 .timestamp(LocalDateTime.now())
                 .applicationName(appName)
                 .version(appVersion)
@@ -63,57 +147,47 @@ public class MetricsController {
     }
 
     /**
-     * Extract thread pool statistics from Tomcat.
+     * Get the Tomcat worker pool history sampled every worker-pool.sample-interval.
+     * 
+     * Parallel arrays, oldest sample first: queue length, active/pooled threads,
+     * open connections, requests handed to workers, queue wait p50/p99/max and
+     * worker busy percentage per interval.
      * 
-     * @return Thread pool statistics
+     * @return Worker pool history
+     */
+    @GetMapping("/metrics/worker-pool")
+    public ResponseEntity<WorkerPoolHistory> getWorkerPoolHistory() {
+        log.debug("Incoming request: GET /api/metrics/worker-pool");
+
+        if (workerPoolSampler == null) {
+            // Virtual-thread mode has no worker pool
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(workerPoolSampler.getHistory());
+    }
+
+    /**
+     * Extract thread pool statistics from the instrumented Tomcat executor.
+     * 
+     * @return Thread pool statistics, or null in virtual-thread mode
      */
     private ThreadPoolStats getThreadPoolStats() {
-        try {
-            TomcatWebServer tomcatWebServer = (TomcatWebServer) webServerAppContext.getWebServer();
-            org.apache.catalina.connector.Connector connector = tomcatWebServer.getTomcat().getConnector();
-            org.apache.coyote.ProtocolHandler protocolHandler = connector.getProtocolHandler();
-            
-            int maxThreads = 20; // Default from config
-            int activeThreads = 0;
-            long completedTasks = 0;
-            
-            // Try to get executor directly from protocol handler
-            if (protocolHandler instanceof org.apache.coyote.http11.AbstractHttp11Protocol) {
-                org.apache.coyote.http11.AbstractHttp11Protocol<?> http11Protocol = 
-                        (org.apache.coyote.http11.AbstractHttp11Protocol<?>) protocolHandler;
-                
-                Object executor = http11Protocol.getExecutor();
-                
-                if (executor instanceof org.apache.tomcat.util.threads.ThreadPoolExecutor) {
-                    org.apache.tomcat.util.threads.ThreadPoolExecutor tpe = 
-                            (org.apache.tomcat.util.threads.ThreadPoolExecutor) executor;
-                    maxThreads = tpe.getMaximumPoolSize();
-                    activeThreads = tpe.getActiveCount();
-                    completedTasks = tpe.getCompletedTaskCount();
-                }
-            }
-            
-            boolean exhausted = activeThreads >= maxThreads;
-            
-            return ThreadPoolStats.builder()
-                    .maxThreads(maxThreads)
-                    .activeThreads(activeThreads)
-                    .queueSize(0) // Queue size not easily accessible
-                    .completedTasks(completedTasks)
-                    .exhausted(exhausted)
-                    .build();
-                    
-        } catch (Exception e) {
-            log.warn("Failed to retrieve thread pool stats: {}. Using defaults.", e.getMessage());
-            
-            // Fallback to configured values
-            return ThreadPoolStats.builder()
-                    .maxThreads(20) // From configuration
-                    .activeThreads(Thread.activeCount())
-                    .queueSize(0)
-                    .completedTasks(0)
-                    .exhausted(false)
-                    .build();
+        return workerPoolSampler != null ? workerPoolSampler.getStats() : null;
+    }
+
+    /**
+     * Find the async appender configured in logback-spring.xml.
+     * 
+     * @return Async logging statistics, or null if logging is not going through it
+     */
+    private AsyncLoggingStats getAsyncLoggingStats() {
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        if (!(loggerFactory instanceof LoggerContext)) {
+            return null;
         }
+        Appender<ILoggingEvent> appender = ((LoggerContext) loggerFactory)
+                .getLogger(Logger.ROOT_LOGGER_NAME)
+                .getAppender(RingBufferAsyncAppender.APPENDER_NAME);
+        return appender instanceof RingBufferAsyncAppender ? ((RingBufferAsyncAppender) appender).getStats() : null;
     }
 }
@@ -0,0 +1,12 @@
+package com.example.serviceconsumer.exception;
+
+/**
+ * Thrown when the dependency bulkhead has no free slot and no queue space.
+ */
+public class BulkheadFullException extends DependencyRejectedException {
+
+    public BulkheadFullException(String bulkheadName, int maxConcurrentCalls, int queueCapacity) {
+        super(String.format("Bulkhead '%s' is full (maxConcurrentCalls=%d, queueCapacity=%d)",
+                bulkheadName, maxConcurrentCalls, queueCapacity));
+    }
+}
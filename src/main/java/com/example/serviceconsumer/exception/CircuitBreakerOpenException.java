@@ -0,0 +1,13 @@
+package com.example.serviceconsumer.exception;
+
+/**
+ * Thrown when the dependency circuit breaker does not permit a call
+ * (OPEN, or HALF_OPEN with all probe slots in use).
+ */
+public class CircuitBreakerOpenException extends DependencyRejectedException {
+
+    public CircuitBreakerOpenException(String circuitBreakerName, String state) {
+        super(String.format("Circuit breaker '%s' is %s and does not permit further calls",
+                circuitBreakerName, state));
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.serviceconsumer.exception;
+
+/**
+ * Thrown when the request's end-to-end deadline has passed, either before a
+ * call to SlowDependency was made or while waiting for it.
+ *
+ * The caller has given up by then, so the work is abandoned and the request
+ * is answered with 504 Gateway Timeout by {@link GlobalExceptionHandler}.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
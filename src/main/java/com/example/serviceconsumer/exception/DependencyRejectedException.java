@@ -0,0 +1,15 @@
+package com.example.serviceconsumer.exception;
+
+/**
+ * Base class for calls to SlowDependency that were rejected locally
+ * without being sent (bulkhead full, circuit breaker open).
+ * 
+ * Rejections are fast by design and are mapped to 503 Service Unavailable
+ * by {@link GlobalExceptionHandler}.
+ */
+public class DependencyRejectedException extends RuntimeException {
+
+    public DependencyRejectedException(String message) {
+        super(message);
+    }
+}
@@ -2,12 +2,14 @@ package com.example.serviceconsumer.exception;
 
 import com.example.serviceconsumer.model.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
 import java.time.LocalDateTime;
 
@@ -39,6 +41,81 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(response);
     }
 
+    /**
+     * Handle async request timeouts.
+     * These occur in async mode when the dependency call does not complete
+     * within dependency.async.timeout (e.g. stuck in the executor queue).
+     */
+    @ExceptionHandler(AsyncRequestTimeoutException.class)
+    public ResponseEntity<ApiResponse> handleAsyncRequestTimeoutException(AsyncRequestTimeoutException ex) {
+        log.error("Async request timed out waiting for dependency");
+        
+        ApiResponse response = ApiResponse.builder()
+                .status("error")
+                .message("Dependency call did not complete within the async request timeout")
+                .error("Async request timeout")
+                .timestamp(LocalDateTime.now())
+                .build();
+        
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(response);
+    }
+
+    /**
+     * Handle requests whose end-to-end deadline (X-Request-Timeout-Ms or the
+     * endpoint default) ran out before SlowDependency answered.
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ApiResponse> handleDeadlineExceededException(DeadlineExceededException ex) {
+        log.warn("Request deadline exceeded: {}", ex.getMessage());
+
+        ApiResponse response = ApiResponse.builder()
+                .status("error")
+                .message("Request deadline exceeded")
+                .error(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(response);
+    }
+
+    /**
+     * Handle calls rejected locally before reaching SlowDependency
+     * (bulkhead full, circuit breaker open).
+     * These fail fast, so the client is told to retry shortly instead of waiting.
+     */
+    @ExceptionHandler(DependencyRejectedException.class)
+    public ResponseEntity<ApiResponse> handleDependencyRejectedException(DependencyRejectedException ex) {
+        log.warn("Dependency call rejected: {}", ex.getMessage());
+        
+        ApiResponse response = ApiResponse.builder()
+                .status("error")
+                .message("Dependency service is overloaded, call rejected")
+                .error(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    /**
+     * Handle batch requests that are empty or larger than dependency.batch.max-items.
+     */
+    @ExceptionHandler(InvalidBatchRequestException.class)
+    public ResponseEntity<ApiResponse> handleInvalidBatchRequestException(InvalidBatchRequestException ex) {
+        log.warn("Invalid batch request: {}", ex.getMessage());
+
+        ApiResponse response = ApiResponse.builder()
+                .status("error")
+                .message("Invalid batch request")
+                .error(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity.badRequest().body(response);
+    }
+
     /**
      * Handle other REST client exceptions.
      */
@@ -0,0 +1,14 @@
+package com.example.serviceconsumer.exception;
+
+/**
+ * Thrown when a batch request has no keys or more than dependency.batch.max-items.
+ *
+ * Nothing has been sent to SlowDependency; the request is answered with
+ * 400 Bad Request by {@link GlobalExceptionHandler}.
+ */
+public class InvalidBatchRequestException extends RuntimeException {
+
+    public InvalidBatchRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.serviceconsumer.filter;
+
+import com.example.serviceconsumer.model.ApiResponse;
+import com.example.serviceconsumer.resilience.AdaptiveConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filter applying the adaptive concurrency limit to /api/process-data.
+ * 
+ * Only the single-item endpoint is limited. A batch (/api/process-data/batch)
+ * fans out to many dependency calls and may run up to its own deadline, so its
+ * latency would drag down the limit for single calls. Batches are bounded by
+ * dependency.batch.max-concurrency and the bulkhead instead.
+ * 
+ * Requests over the current limit get an immediate 503 with Retry-After instead
+ * of occupying a Tomcat worker while they wait on SlowDependency. Admitted
+ * requests report their latency back to the limiter when they complete; for
+ * async requests that is when the async request completes, not when the
+ * worker thread is released.
+ * 
+ * Only successful (2xx) responses are used as latency samples. Errors such as
+ * bulkhead or circuit breaker rejections (503), refused connections (500) or
+ * deadline expiries (504) return quickly without saying anything about the
+ * dependency's latency. Sampling them would raise the limit during an outage.
+ * 
+ * Rejections are logged as a summary at most once per second rather than one
+ * line each, since they come in floods exactly when the service is overloaded.
+ */
+@Slf4j
+@Component
+@Order(2)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String LIMITED_PATH = "/api/process-data";
+    private static final long REJECTION_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter processDataConcurrencyLimiter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final LongAdder rejectedSinceLog = new LongAdder();
+    private final AtomicLong lastRejectionLogNanos = new AtomicLong(System.nanoTime() - REJECTION_LOG_INTERVAL_NANOS);
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!processDataConcurrencyLimiter.isEnabled()) {
+            return true;
+        }
+        String uri = request.getRequestURI();
+        // Exact match (with optional trailing slash), so /api/process-data/batch is not limited
+        return !(uri.equals(LIMITED_PATH) || uri.equals(LIMITED_PATH + "/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                   HttpServletResponse response,
+                                   FilterChain filterChain) throws ServletException, IOException {
+
+        if (!processDataConcurrencyLimiter.tryAcquire()) {
+            logRejection();
+            writeRejection(response);
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(response, startTime, released));
+            } else {
+                release(response, startTime, released);
+            }
+        }
+    }
+
+    private void release(HttpServletResponse response, long startTime, AtomicBoolean released) {
+        if (!released.compareAndSet(false, true)) {
+            return;
+        }
+        if (HttpStatus.Series.resolve(response.getStatus()) == HttpStatus.Series.SUCCESSFUL) {
+            processDataConcurrencyLimiter.onSample(System.nanoTime() - startTime);
+        } else {
+            processDataConcurrencyLimiter.onIgnore();
+        }
+    }
+
+    private void logRejection() {
+        rejectedSinceLog.increment();
+        long now = System.nanoTime();
+        long last = lastRejectionLogNanos.get();
+        if (now - last >= REJECTION_LOG_INTERVAL_NANOS && lastRejectionLogNanos.compareAndSet(last, now)) {
+            log.warn("Requests rejected by concurrency limit: {} since the last report (limit={})",
+                    rejectedSinceLog.sumThenReset(), processDataConcurrencyLimiter.getLimit());
+        }
+    }
+
+    private void writeRejection(HttpServletResponse response) throws IOException {
+        ApiResponse body = ApiResponse.builder()
+                .status("error")
+                .message("Service is at its concurrency limit, request rejected")
+                .error("Concurrency limit reached")
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private class ReleaseOnCompletion implements AsyncListener {
+
+        private final HttpServletResponse response;
+        private final long startTime;
+        private final AtomicBoolean released;
+
+        ReleaseOnCompletion(HttpServletResponse response, long startTime, AtomicBoolean released) {
+            this.response = response;
+            this.startTime = startTime;
+            this.released = released;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(response, startTime, released);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // The timeout response is still to be written; onComplete follows
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(response, startTime, released);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.serviceconsumer.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Filter restricting the control-plane port to control-plane endpoints.
+ * 
+ * Only /api/health, /api/metrics/** and /actuator/** are served on
+ * control-plane.port; anything else gets a 404 there, so dependency traffic can
+ * never occupy the control-plane worker threads. The main port still serves
+ * every endpoint.
+ */
+@Slf4j
+@Component
+@Order(0)
+@ConditionalOnProperty(name = "control-plane.enabled", havingValue = "true")
+public class ControlPlaneLaneFilter extends OncePerRequestFilter {
+
+    @Value("${control-plane.port}")
+    private int controlPlanePort;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getLocalPort() != controlPlanePort;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                   HttpServletResponse response,
+                                   FilterChain filterChain) throws ServletException, IOException {
+
+        if (!isControlPlanePath(request.getRequestURI())) {
+            log.warn("Rejected {} {} on control-plane port {}",
+                    request.getMethod(), request.getRequestURI(), controlPlanePort);
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static boolean isControlPlanePath(String path) {
+        return path.equals("/api/health")
+                || path.equals("/api/metrics")
+                || path.startsWith("/api/metrics/")
+                || path.equals("/actuator")
+                || path.startsWith("/actuator/");
+    }
+}
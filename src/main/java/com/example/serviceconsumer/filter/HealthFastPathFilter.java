@@ -0,0 +1,79 @@
+package com.example.serviceconsumer.filter;
+
+import com.example.serviceconsumer.monitor.HealthSnapshot;
+import com.example.serviceconsumer.monitor.LatencyMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Filter answering GET/HEAD /api/health before anything else runs.
+ * 
+ * Health probes arrive from several orchestrators every second, so they skip
+ * the rest of the filter chain, DispatcherServlet and HealthController: the
+ * response is the pre-encoded body from {@link HealthSnapshot}, written
+ * without logging, request ID generation or serialization. An inbound
+ * X-Request-ID is echoed back.
+ * 
+ * A plain Filter rather than a OncePerRequestFilter, which would set a request
+ * attribute per request. The probe's latency is recorded under /api/health,
+ * since LatencyRecordingFilter never sees it.
+ * 
+ * Disabled with health.fast-path.enabled=false, which serves /api/health
+ * through HealthController again.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "health.fast-path.enabled", havingValue = "true")
+public class HealthFastPathFilter implements Filter {
+
+    public static final String HEALTH_PATH = "/api/health";
+
+    @Autowired
+    private HealthSnapshot healthSnapshot;
+
+    @Autowired
+    private LatencyMetrics latencyMetrics;
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest request = (HttpServletRequest) req;
+        boolean head = "HEAD".equals(request.getMethod());
+        if (!HEALTH_PATH.equals(request.getRequestURI()) || !(head || "GET".equals(request.getMethod()))) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        HttpServletResponse response = (HttpServletResponse) res;
+        byte[] body = healthSnapshot.getBody();
+
+        String requestId = request.getHeader(RequestIdFilter.REQUEST_ID_HEADER);
+        if (requestId != null) {
+            response.setHeader(RequestIdFilter.REQUEST_ID_HEADER, requestId);
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        if (!head) {
+            response.getOutputStream().write(body);
+        }
+
+        latencyMetrics.recordInbound(HEALTH_PATH, System.nanoTime() - startTime);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.serviceconsumer.filter;
+
+import com.example.serviceconsumer.monitor.LatencyMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Filter recording the latency of every inbound request into LatencyMetrics.
+ * 
+ * Runs first after HealthFastPathFilter (which records the probes it answers
+ * itself), so the measured time includes the other filters (and requests
+ * they reject). Async requests are recorded when the async request completes,
+ * not when the worker thread is released.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class LatencyRecordingFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private LatencyMetrics latencyMetrics;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                   HttpServletResponse response,
+                                   FilterChain filterChain) throws ServletException, IOException {
+
+        long startTime = System.nanoTime();
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new RecordOnCompletion(request, startTime));
+            } else {
+                record(request, startTime);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, long startTime) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = pattern != null ? pattern.toString() : LatencyMetrics.UNMATCHED_ENDPOINT;
+        latencyMetrics.recordInbound(endpoint, System.nanoTime() - startTime);
+    }
+
+    private class RecordOnCompletion implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final long startTime;
+
+        RecordOnCompletion(HttpServletRequest request, long startTime) {
+            this.request = request;
+            this.startTime = startTime;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            record(request, startTime);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // The timeout response is still to be written; onComplete follows
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // onComplete follows
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.serviceconsumer.filter;
+
+import com.example.serviceconsumer.concurrent.InstrumentedTomcatExecutor;
+import com.example.serviceconsumer.model.ApiResponse;
+import com.example.serviceconsumer.resilience.CoDelLoadShedder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filter shedding requests that sat too long in the Tomcat worker queue.
+ * 
+ * Runs before RequestIdFilter, so a shed request costs a worker only the time
+ * to write a 503 with Retry-After. The sojourn time comes from the instrumented
+ * worker executor (time since the request was handed to the pool); the
+ * decision is made by {@link CoDelLoadShedder}.
+ * 
+ * Requests on the control-plane connector and all requests in virtual-thread
+ * mode have no worker queue and are never shed. Neither are health probes
+ * answered by HealthFastPathFilter, which runs first.
+ * 
+ * Sheds are logged as a summary at most once per second rather than one line
+ * each, since they come in floods exactly when the service is overloaded.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final long SHED_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Autowired
+    private CoDelLoadShedder requestLoadShedder;
+
+    @Autowired(required = false)
+    private InstrumentedTomcatExecutor tomcatWorkerExecutor;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final LongAdder shedSinceLog = new LongAdder();
+    private final AtomicLong lastShedLogNanos = new AtomicLong(System.nanoTime() - SHED_LOG_INTERVAL_NANOS);
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return tomcatWorkerExecutor == null || !requestLoadShedder.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                   HttpServletResponse response,
+                                   FilterChain filterChain) throws ServletException, IOException {
+
+        long sojournNanos = tomcatWorkerExecutor.getCurrentTaskSojournNanos();
+
+        if (sojournNanos >= 0 && !requestLoadShedder.tryAdmit(sojournNanos)) {
+            logShed(sojournNanos);
+            writeRejection(response);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void logShed(long sojournNanos) {
+        shedSinceLog.increment();
+        long now = System.nanoTime();
+        long last = lastShedLogNanos.get();
+        if (now - last >= SHED_LOG_INTERVAL_NANOS && lastShedLogNanos.compareAndSet(last, now)) {
+            log.warn("Requests shed after queueing: {} since the last report (latest waited {}ms in the worker queue)",
+                    shedSinceLog.sumThenReset(), TimeUnit.NANOSECONDS.toMillis(sojournNanos));
+        }
+    }
+
+    private void writeRejection(HttpServletResponse response) throws IOException {
+        ApiResponse body = ApiResponse.builder()
+                .status("error")
+                .message("Service is overloaded, request shed after queueing")
+                .error("Queue sojourn time above target")
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
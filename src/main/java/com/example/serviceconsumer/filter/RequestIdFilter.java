@@ -1,8 +1,16 @@
 package com.example.serviceconsumer.filter;
 
+import com.example.serviceconsumer.concurrent.RequestDeadline;
+import com.example.serviceconsumer.concurrent.RequestIdGenerator;
+import com.example.serviceconsumer.model.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -11,7 +19,11 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.UUID;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Filter to generate or extract request ID and store in MDC (Mapped Diagnostic Context)
@@ -19,10 +31,23 @@ import java.util.UUID;
  * 
  * The request ID is:
  * 1. Extracted from X-Request-ID header if present
- * 2. Generated as UUID if not present
+ * 2. Generated by the configured {@link RequestIdGenerator} if not present
  * 3. Stored in MDC for logging
  * 4. Added to response headers
  * 5. Cleaned up after request completes
+ * 
+ * This runs on every request, so it avoids per-request garbage: the header is
+ * checked for blank without trimming, and the request ID is the only MDC entry
+ * the filter adds. The deadline is kept in the RequestDeadline thread-local,
+ * not in the MDC.
+ * 
+ * The filter also starts the request's end-to-end deadline ({@link RequestDeadline}):
+ * - Taken from the X-Request-Timeout-Ms header (remaining budget in ms),
+ *   capped at deadline.max-timeout
+ * - Otherwise from the first deadline.endpoint-timeouts prefix matching the
+ *   path, or deadline.default-timeout (0 = no deadline)
+ * - A budget that has already run out is rejected with 504 before any work starts;
+ *   these rejections are logged as a summary at most once per second
  */
 @Slf4j
 @Component
@@ -32,6 +57,29 @@ public class RequestIdFilter extends OncePerRequestFilter {
     public static final String REQUEST_ID_HEADER = "X-Request-ID";
     public static final String REQUEST_ID_MDC_KEY = "requestId";
 
+    private static final long REJECTION_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Value("${deadline.enabled}")
+    private boolean deadlineEnabled;
+
+    @Value("${deadline.max-timeout}")
+    private long maxTimeout;
+
+    @Value("${deadline.default-timeout}")
+    private long defaultTimeout;
+
+    @Value("#{${deadline.endpoint-timeouts}}")
+    private Map<String, Long> endpointTimeouts;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RequestIdGenerator requestIdGenerator;
+
+    private final LongAdder rejectedSinceLog = new LongAdder();
+    private final AtomicLong lastRejectionLogNanos = new AtomicLong(System.nanoTime() - REJECTION_LOG_INTERVAL_NANOS);
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                    HttpServletResponse response,
@@ -39,22 +87,92 @@ public class RequestIdFilter extends OncePerRequestFilter {
         
         // Extract or generate request ID
         String requestId = request.getHeader(REQUEST_ID_HEADER);
-        if (requestId == null || requestId.trim().isEmpty()) {
-            requestId = UUID.randomUUID().toString();
+        if (isBlank(requestId)) {
+            requestId = requestIdGenerator.nextId();
         }
 
         // Store in MDC for logging
         MDC.put(REQUEST_ID_MDC_KEY, requestId);
 
-        // Add to response header
-        response.setHeader(REQUEST_ID_HEADER, requestId);
+        // Add to response header (no earlier filter sets it, so nothing to replace)
+        response.addHeader(REQUEST_ID_HEADER, requestId);
 
         try {
+            if (deadlineEnabled) {
+                long budget = resolveBudget(request);
+                if (budget <= 0 && budget != RequestDeadline.NONE) {
+                    logRejection(request, budget);
+                    writeDeadlineExceeded(response);
+                    return;
+                }
+                if (budget != RequestDeadline.NONE) {
+                    RequestDeadline.start(budget);
+                }
+            }
+
             // Continue with the filter chain
             filterChain.doFilter(request, response);
         } finally {
-            // Clean up MDC to prevent memory leaks
+            // Clean up MDC and deadline so the next request on this thread starts clean
             MDC.clear();
+            RequestDeadline.clear();
+        }
+    }
+
+    private void logRejection(HttpServletRequest request, long budget) {
+        rejectedSinceLog.increment();
+        long now = System.nanoTime();
+        long last = lastRejectionLogNanos.get();
+        if (now - last >= REJECTION_LOG_INTERVAL_NANOS && lastRejectionLogNanos.compareAndSet(last, now)) {
+            log.warn("Requests rejected with an exhausted deadline: {} since the last report (latest {} {}, {}ms)",
+                    rejectedSinceLog.sumThenReset(), request.getMethod(), request.getRequestURI(), budget);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
         }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the request's budget in ms, or {@link RequestDeadline#NONE}
+     */
+    private long resolveBudget(HttpServletRequest request) {
+        String header = request.getHeader(RequestDeadline.TIMEOUT_HEADER);
+        if (header != null) {
+            try {
+                return Math.min(Long.parseLong(header.trim()), maxTimeout);
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring malformed {} header: {}", RequestDeadline.TIMEOUT_HEADER, header);
+            }
+        }
+
+        String path = request.getRequestURI();
+        for (Map.Entry<String, Long> entry : endpointTimeouts.entrySet()) {
+            if (path.startsWith(entry.getKey())) {
+                return entry.getValue() > 0 ? entry.getValue() : RequestDeadline.NONE;
+            }
+        }
+        return defaultTimeout > 0 ? defaultTimeout : RequestDeadline.NONE;
+    }
+
+    private void writeDeadlineExceeded(HttpServletResponse response) throws IOException {
+        ApiResponse body = ApiResponse.builder()
+                .status("error")
+                .message("Request deadline exceeded")
+                .error("Request arrived with no time left in " + RequestDeadline.TIMEOUT_HEADER)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        response.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
     }
 }
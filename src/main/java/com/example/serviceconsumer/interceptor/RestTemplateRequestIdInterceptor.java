@@ -1,7 +1,14 @@
 package com.example.serviceconsumer.interceptor;
 
+import com.example.serviceconsumer.concurrent.RequestDeadline;
+import com.example.serviceconsumer.exception.DeadlineExceededException;
+import com.example.serviceconsumer.monitor.LatencyMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.protocol.HttpContext;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
@@ -9,20 +16,36 @@ import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * RestTemplate interceptor to:
  * 1. Propagate request ID to outbound HTTP calls
  * 2. Log outbound request details
  * 3. Log response status and timing
+ * 4. Record call latency per host and status class into LatencyMetrics
+ * 5. Forward the remaining request deadline as X-Request-Timeout-Ms, and
+ *    refuse to send calls whose deadline has already passed
+ * 
+ * Also registered on the non-blocking NIO client (dependency.client.mode=nio).
+ * There the request is written by an I/O reactor thread that has no MDC, so the
+ * request ID and deadline are captured on the calling thread into the HttpContext
+ * under {@link #REQUEST_ID_CONTEXT_ATTRIBUTE} and {@link #DEADLINE_CONTEXT_ATTRIBUTE}
+ * and added to the headers from there.
  */
 @Slf4j
 @Component
-public class RestTemplateRequestIdInterceptor implements ClientHttpRequestInterceptor {
+public class RestTemplateRequestIdInterceptor implements ClientHttpRequestInterceptor, HttpRequestInterceptor {
+
+    public static final String REQUEST_ID_CONTEXT_ATTRIBUTE = "serviceconsumer.requestId";
+    public static final String DEADLINE_CONTEXT_ATTRIBUTE = "serviceconsumer.deadline";
 
     private static final String REQUEST_ID_HEADER = "X-Request-ID";
     private static final String REQUEST_ID_MDC_KEY = "requestId";
 
+    @Autowired
+    private LatencyMetrics latencyMetrics;
+
     @Override
     public ClientHttpResponse intercept(HttpRequest request, byte[] body,
                                         ClientHttpRequestExecution execution) throws IOException {
@@ -33,8 +56,17 @@ public class RestTemplateRequestIdInterceptor implements ClientHttpRequestInterc
             request.getHeaders().add(REQUEST_ID_HEADER, requestId);
         }
 
+        // Forward the remaining budget; a call nobody is waiting for is not sent
+        long remaining = RequestDeadline.remainingMillis();
+        if (remaining != RequestDeadline.NONE) {
+            if (remaining <= 0) {
+                throw new DeadlineExceededException("Deadline passed before calling " + request.getURI());
+            }
+            request.getHeaders().set(RequestDeadline.TIMEOUT_HEADER, Long.toString(remaining));
+        }
+
         // Log outbound request
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
         log.debug("Outbound HTTP request: {} {}", request.getMethod(), request.getURI());
 
         ClientHttpResponse response = null;
@@ -42,18 +74,56 @@ public class RestTemplateRequestIdInterceptor implements ClientHttpRequestInterc
             // Execute the request
             response = execution.execute(request, body);
             
-            // Log response
-            long duration = System.currentTimeMillis() - startTime;
+            // Record and log response
+            long durationNanos = System.nanoTime() - startTime;
+            int statusCode = response.getRawStatusCode();
+            latencyMetrics.recordOutbound(request.getURI().getAuthority(), statusCode, durationNanos);
             log.debug("Outbound HTTP response: {} {} - Status: {} - Duration: {}ms",
-                    request.getMethod(), request.getURI(), response.getStatusCode(), duration);
+                    request.getMethod(), request.getURI(), statusCode,
+                    TimeUnit.NANOSECONDS.toMillis(durationNanos));
             
             return response;
         } catch (IOException e) {
-            // Log error
-            long duration = System.currentTimeMillis() - startTime;
+            // Record and log error
+            long durationNanos = System.nanoTime() - startTime;
+            latencyMetrics.recordOutbound(request.getURI().getAuthority(), 0, durationNanos);
+            long duration = TimeUnit.NANOSECONDS.toMillis(durationNanos);
             log.error("Outbound HTTP request failed: {} {} - Duration: {}ms - Error: {}",
                     request.getMethod(), request.getURI(), duration, e.getMessage());
             throw e;
         }
     }
+
+    /**
+     * Propagate request ID and remaining deadline on the NIO client (runs on an
+     * I/O reactor thread).
+     */
+    @Override
+    public void process(org.apache.http.HttpRequest request, HttpContext context) throws HttpException, IOException {
+        Object requestId = context.getAttribute(REQUEST_ID_CONTEXT_ATTRIBUTE);
+        if (requestId != null && !request.containsHeader(REQUEST_ID_HEADER)) {
+            request.addHeader(REQUEST_ID_HEADER, requestId.toString());
+        }
+
+        Object deadlineNanos = context.getAttribute(DEADLINE_CONTEXT_ATTRIBUTE);
+        if (deadlineNanos != null) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis((Long) deadlineNanos - System.nanoTime());
+            request.setHeader(RequestDeadline.TIMEOUT_HEADER, Long.toString(Math.max(1, remaining)));
+        }
+    }
+
+    /**
+     * Capture the current thread's request ID and deadline into an NIO client
+     * context. Must be called on the thread that owns the MDC (the caller).
+     */
+    public void captureRequestId(HttpContext context) {
+        String requestId = MDC.get(REQUEST_ID_MDC_KEY);
+        if (requestId != null) {
+            context.setAttribute(REQUEST_ID_CONTEXT_ATTRIBUTE, requestId);
+        }
+
+        if (RequestDeadline.isPresent()) {
+            context.setAttribute(DEADLINE_CONTEXT_ATTRIBUTE, RequestDeadline.current());
+        }
+    }
 }
@@ -0,0 +1,96 @@
+package com.example.serviceconsumer.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free ring buffer for many producers and a single consumer.
+ * 
+ * - Producers claim a slot with one CAS on the tail sequence and publish the
+ *   element into it; a full buffer is reported instead of waited on
+ * - The consumer takes published elements in order and clears their slots
+ *   before advancing the head, which is what frees them for producers
+ * 
+ * A slot that has been claimed but not yet published stops the consumer
+ * until the producer writes it, so elements are always taken in claim order.
+ */
+final class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int capacity;
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    /**
+     * @param capacity Rounded up to the next power of two
+     */
+    MpscRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.capacity = size;
+        this.mask = size - 1;
+    }
+
+    /**
+     * Add an element; never blocks.
+     *
+     * @return false if the buffer is full
+     */
+    boolean offer(E element) {
+        while (true) {
+            long claimed = tail.get();
+            if (claimed - head >= capacity) {
+                return false;
+            }
+            if (tail.compareAndSet(claimed, claimed + 1)) {
+                slots.lazySet((int) claimed & mask, element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Take up to max published elements. Consumer thread only.
+     *
+     * @return the number of elements handed to the sink
+     */
+    int drain(Consumer<? super E> sink, int max) {
+        long position = head;
+        int drained = 0;
+        try {
+            while (drained < max) {
+                int index = (int) position & mask;
+                E element = slots.get(index);
+                if (element == null) {
+                    break;
+                }
+                slots.lazySet(index, null);
+                position++;
+                drained++;
+                sink.accept(element);
+            }
+        } finally {
+            head = position;
+        }
+        return drained;
+    }
+
+    /**
+     * @return claimed but not yet consumed elements (approximate while producers are active)
+     */
+    int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    boolean isEmpty() {
+        return tail.get() == head;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.serviceconsumer.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import com.example.serviceconsumer.model.AsyncLoggingStats;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logback appender that takes log events off the request threads.
+ * 
+ * - The calling thread only snapshots the event (message, thread name and MDC,
+ *   so the request ID is kept) and puts it into a bounded lock-free ring buffer
+ * - One "async-log-writer" thread drains the buffer in batches of up to
+ *   batchSize events into the attached appenders and flushes them once per
+ *   batch. Attached OutputStreamAppenders should set immediateFlush=false so
+ *   a batch reaches the disk in a few large writes rather than one per event
+ * - When the buffer is full, overflowPolicy decides:
+ *   - drop (default): the event is discarded and counted, the caller never waits
+ *   - block: the caller waits for space, so no event is lost but a slow disk
+ *     can slow requests down
+ * 
+ * Configured in logback-spring.xml; see {@link #getStats()} for what is
+ * reported under logging in /api/metrics.
+ */
+public class RingBufferAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    /**
+     * Name of the appender in logback-spring.xml, looked up for /api/metrics.
+     */
+    public static final String APPENDER_NAME = "ASYNC";
+
+    public enum OverflowPolicy {
+        DROP, BLOCK
+    }
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+    private int bufferSize = 8192;
+    private int batchSize = 256;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+    private int maxFlushTime = 1000;
+
+    private final LongAdder enqueuedEvents = new LongAdder();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final LongAdder blockedEvents = new LongAdder();
+    private volatile long writtenEvents;
+    private volatile long batches;
+
+    private MpscRingBuffer<ILoggingEvent> buffer;
+    private Thread writer;
+    private volatile boolean writerParked;
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setOverflowPolicy(String overflowPolicy) {
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase());
+    }
+
+    /**
+     * @param maxFlushTime How long stop() waits for buffered events to be written (ms)
+     */
+    public void setMaxFlushTime(int maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appenders attached to " + getName());
+            return;
+        }
+        if (batchSize < 1) {
+            addError("batchSize must be at least 1");
+            return;
+        }
+
+        buffer = new MpscRingBuffer<>(bufferSize);
+        writer = new Thread(this::writeLoop, "async-log-writer");
+        writer.setDaemon(true);
+        super.start();
+        writer.start();
+        addInfo("Started with bufferSize=" + buffer.capacity() + ", batchSize=" + batchSize
+                + ", overflowPolicy=" + overflowPolicy);
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        LockSupport.unpark(writer);
+        try {
+            writer.join(maxFlushTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            addWarn("Gave up after " + maxFlushTime + "ms with " + buffer.size() + " events still buffered");
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // Capture message, thread name and MDC (request ID) while still on the calling thread
+        event.prepareForDeferredProcessing();
+
+        if (buffer.offer(event)) {
+            enqueuedEvents.increment();
+            if (writerParked) {
+                LockSupport.unpark(writer);
+            }
+            return;
+        }
+
+        if (overflowPolicy == OverflowPolicy.BLOCK && Thread.currentThread() != writer) {
+            blockedEvents.increment();
+            while (isStarted()) {
+                LockSupport.parkNanos(this, BLOCKED_PARK_NANOS);
+                if (buffer.offer(event)) {
+                    enqueuedEvents.increment();
+                    return;
+                }
+            }
+        }
+        droppedEvents.increment();
+    }
+
+    private void writeLoop() {
+        while (isStarted()) {
+            int drained = buffer.drain(appenders::appendLoopOnAppenders, batchSize);
+            if (drained > 0) {
+                flush();
+                writtenEvents += drained;
+                batches++;
+                continue;
+            }
+
+            // Re-check after announcing the park so a producer either sees the flag or we see its event
+            writerParked = true;
+            if (buffer.isEmpty() && isStarted()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            writerParked = false;
+        }
+
+        // Stopped: write out whatever is left, then close the attached appenders
+        int drained;
+        while ((drained = buffer.drain(appenders::appendLoopOnAppenders, batchSize)) > 0) {
+            writtenEvents += drained;
+            batches++;
+        }
+        flush();
+        appenders.detachAndStopAllAppenders();
+    }
+
+    private void flush() {
+        Iterator<Appender<ILoggingEvent>> it = appenders.iteratorForAppenders();
+        while (it.hasNext()) {
+            Appender<ILoggingEvent> appender = it.next();
+            if (appender instanceof OutputStreamAppender) {
+                // Only this thread writes to the attached appenders, so their stream is stable here
+                OutputStream out = ((OutputStreamAppender<ILoggingEvent>) appender).getOutputStream();
+                if (out != null) {
+                    try {
+                        out.flush();
+                    } catch (IOException e) {
+                        addError("Failed to flush " + appender.getName(), e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return buffer fill, dropped/blocked events and batch sizes since startup
+     */
+    public AsyncLoggingStats getStats() {
+        long written = writtenEvents;
+        long batchCount = batches;
+        int buffered = buffer != null ? buffer.size() : 0;
+        int capacity = buffer != null ? buffer.capacity() : bufferSize;
+
+        return AsyncLoggingStats.builder()
+                .overflowPolicy(overflowPolicy.name().toLowerCase())
+                .bufferCapacity(capacity)
+                .bufferedEvents(buffered)
+                .bufferFillPercent(capacity > 0 ? buffered * 100.0 / capacity : 0)
+                .enqueuedEvents(enqueuedEvents.sum())
+                .droppedEvents(droppedEvents.sum())
+                .blockedEvents(blockedEvents.sum())
+                .writtenEvents(written)
+                .batches(batchCount)
+                .averageBatchSize(batchCount > 0 ? (double) written / batchCount : 0)
+                .build();
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
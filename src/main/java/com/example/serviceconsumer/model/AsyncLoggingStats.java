@@ -0,0 +1,28 @@
+package com.example.serviceconsumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Asynchronous logging pipeline statistics (ring buffer fill, dropped events, batches)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AsyncLoggingStats {
+    
+    private String overflowPolicy;
+    private int bufferCapacity;
+    private int bufferedEvents;
+    private double bufferFillPercent;
+    private long enqueuedEvents;
+    private long droppedEvents;
+    private long blockedEvents;
+    private long writtenEvents;
+    private long batches;
+    private double averageBatchSize;
+    
+}
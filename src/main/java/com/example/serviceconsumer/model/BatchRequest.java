@@ -0,0 +1,21 @@
+package com.example.serviceconsumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of POST /api/process-data/batch: the item keys to fetch from SlowDependency
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequest {
+    
+    private List<String> keys;
+    
+}
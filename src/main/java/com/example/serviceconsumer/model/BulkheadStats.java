@@ -0,0 +1,26 @@
+package com.example.serviceconsumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dependency bulkhead statistics
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkheadStats {
+    
+    private String name;
+    private int maxConcurrentCalls;
+    private int activeCalls;
+    private int queueDepth;
+    private int queueCapacity;
+    private long rejectedCalls;
+    private long completedCalls;
+    private boolean full;
+    
+}
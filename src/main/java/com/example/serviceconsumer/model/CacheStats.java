@@ -0,0 +1,27 @@
+package com.example.serviceconsumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dependency response cache statistics
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStats {
+    
+    private boolean enabled;
+    private int size;
+    private int maxEntries;
+    private long hits;
+    private long misses;
+    private long staleHits;
+    private long staleIfErrorHits;
+    private long backgroundRefreshes;
+    private long evictions;
+    
+}
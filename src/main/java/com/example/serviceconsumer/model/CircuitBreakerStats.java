@@ -0,0 +1,30 @@
+package com.example.serviceconsumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Dependency circuit breaker statistics
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CircuitBreakerStats {
+    
+    private String name;
+    private String state;
+    private float failureRate;
+    private float slowCallRate;
+    private int bufferedCalls;
+    private int failedCalls;
+    private int slowCalls;
+    private long notPermittedCalls;
+    private long transitionCount;
+    private List<CircuitBreakerTransition> recentTransitions;
+    
+}
@@ -0,0 +1,24 @@
+package com.example.serviceconsumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A single circuit breaker state transition
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CircuitBreakerTransition {
+    
+    private String fromState;
+    private String toState;
+    private String reason;
+    private LocalDateTime timestamp;
+    
+}
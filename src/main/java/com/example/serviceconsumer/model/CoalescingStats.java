@@ -0,0 +1,25 @@
+package com.example.serviceconsumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request coalescing (single-flight) statistics
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoalescingStats {
+    
+    private boolean enabled;
+    private int maxWaiters;
+    private int inFlightKeys;
+    private long calls;
+    private long coalescedCalls;
+    private long overflowCalls;
+    private double coalescingRatio;
+    
+}
@@ -0,0 +1,28 @@
+package com.example.serviceconsumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Adaptive concurrency limit statistics for /api/process-data
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConcurrencyLimitStats {
+    
+    private boolean enabled;
+    private int limit;
+    private int minLimit;
+    private int maxLimit;
+    private int inFlight;
+    private long acceptedRequests;
+    private long rejectedRequests;
+    private long shortRttMs;
+    private long longRttMs;
+    private long limitUpdates;
+    
+}
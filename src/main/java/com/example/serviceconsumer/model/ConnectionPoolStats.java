@@ -0,0 +1,27 @@
+package com.example.serviceconsumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outbound HTTP connection pool statistics
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConnectionPoolStats {
+    
+    private int maxTotal;
+    private int maxPerRoute;
+    private int leased;
+    private int available;
+    private int pending;
+    private long leaseRequests;
+    private long leaseTimeouts;
+    private long newConnections;
+    private long reusedConnections;
+    
+}
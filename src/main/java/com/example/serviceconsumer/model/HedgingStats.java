@@ -0,0 +1,26 @@
+package com.example.serviceconsumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Hedged request statistics for SlowDependency calls
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HedgingStats {
+    
+    private boolean enabled;
+    private long delayMs;
+    private String delaySource;
+    private long calls;
+    private long hedgesSent;
+    private long hedgesWon;
+    private long hedgesSkippedNoBudget;
+    private double extraLoadRatio;
+    
+}
@@ -0,0 +1,23 @@
+package com.example.serviceconsumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Inbound (per endpoint) and outbound (per host and status class) latency percentiles
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatencyReport {
+    
+    private long windowSeconds;
+    private Map<String, LatencyStats> inbound;
+    private Map<String, LatencyStats> outbound;
+    
+}
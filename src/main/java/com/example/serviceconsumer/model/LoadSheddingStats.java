@@ -0,0 +1,29 @@
+package com.example.serviceconsumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Queue-time based (CoDel) load shedding statistics
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadSheddingStats {
+    
+    private boolean enabled;
+    private String policy;
+    private long targetMs;
+    private long intervalMs;
+    private boolean overloaded;
+    private double sojournEstimateMs;
+    private double lastSojournMs;
+    private long admittedRequests;
+    private long shedRequests;
+    private double shedRatio;
+    private long overloadEpisodes;
+    
+}
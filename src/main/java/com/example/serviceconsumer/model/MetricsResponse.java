@@ -8,7 +8,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 /**
- * Metrics response containing thread pool and application statistics
+ * Metrics response containing thread pool, resilience and application statistics
  */
 @Data
 @Builder
@@ -17,6 +17,19 @@ import java.time.LocalDateTime;
 public class MetricsResponse {
     
     private ThreadPoolStats threadPool;
+    private WorkerPoolAutoscaleStats workerPoolAutoscale;
+    private VirtualThreadStats virtualThreads;
+    private BulkheadStats bulkhead;
+    private CircuitBreakerStats circuitBreaker;
+    private ConnectionPoolStats connectionPool;
+    private CacheStats cache;
+    private CoalescingStats coalescing;
+    private HedgingStats hedging;
+    private RetryStats retry;
+    private ConcurrencyLimitStats concurrencyLimit;
+    private LoadSheddingStats loadShedding;
+    private LatencyReport latency;
+    private AsyncLoggingStats logging;
     private LocalDateTime timestamp;
     private String applicationName;
     private String version;
@@ -0,0 +1,28 @@
+package com.example.serviceconsumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Retry statistics for SlowDependency calls
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RetryStats {
+    
+    private boolean enabled;
+    private int maxAttempts;
+    private long calls;
+    private long retries;
+    private long retriedSuccesses;
+    private long exhaustedCalls;
+    private long retriesSkippedNoBudget;
+    private long retriesSkippedDeadline;
+    private double budgetTokens;
+    private double retryRatio;
+    
+}
@@ -17,7 +17,14 @@ public class ThreadPoolStats {
     private int maxThreads;
     private int activeThreads;
     private int queueSize;
+    private int poolSize;
     private long completedTasks;
     private boolean exhausted;
+    private long connectionCount;
+    private int maxConnections;
+    private double oldestQueuedWaitMs;
+    private double queueWaitP99Ms;
+    private double queueWaitMaxMs;
+    private double busyPercent;
     
 }
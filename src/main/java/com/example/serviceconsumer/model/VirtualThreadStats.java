@@ -0,0 +1,28 @@
+package com.example.serviceconsumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Virtual-thread request handling statistics (virtual-threads.enabled=true)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VirtualThreadStats {
+    
+    private long inFlightRequests;
+    private long startedRequests;
+    private long completedRequests;
+    private int schedulerParallelism;
+    private int carrierThreads;
+    private int mountedCarriers;
+    private long pinnedEvents;
+    private double pinnedTotalMs;
+    private double pinnedMaxMs;
+    private boolean pinnedEventsMonitored;
+    
+}
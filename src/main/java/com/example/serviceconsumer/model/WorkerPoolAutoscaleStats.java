@@ -0,0 +1,31 @@
+package com.example.serviceconsumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Worker pool autoscaler statistics
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkerPoolAutoscaleStats {
+    
+    private boolean enabled;
+    private int minThreads;
+    private int maxThreads;
+    private int currentMaxThreads;
+    private int currentCoreThreads;
+    private String lastDecision;
+    private double cpuPercent;
+    private long scaleUps;
+    private long scaleDowns;
+    private long heldForCpu;
+    private List<WorkerPoolResize> recentResizes;
+    
+}
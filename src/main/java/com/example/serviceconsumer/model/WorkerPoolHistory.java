@@ -0,0 +1,29 @@
+package com.example.serviceconsumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tomcat worker pool samples, oldest first (one entry per sample interval)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkerPoolHistory {
+    
+    private long sampleIntervalMs;
+    private long[] timestamps;
+    private int[] queueLength;
+    private int[] activeThreads;
+    private int[] poolSize;
+    private long[] connections;
+    private long[] requests;
+    private long[] queueWaitP50Micros;
+    private long[] queueWaitP99Micros;
+    private long[] queueWaitMaxMicros;
+    private double[] busyPercent;
+    
+}
@@ -0,0 +1,29 @@
+package com.example.serviceconsumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A single worker pool resize by the autoscaler, with the measurements it was based on
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkerPoolResize {
+    
+    private int fromMaxThreads;
+    private int toMaxThreads;
+    private int fromCoreThreads;
+    private int toCoreThreads;
+    private String reason;
+    private double busyPercent;
+    private double queueWaitP99Ms;
+    private double cpuPercent;
+    private LocalDateTime timestamp;
+    
+}
@@ -0,0 +1,54 @@
+package com.example.serviceconsumer.monitor;
+
+import com.example.serviceconsumer.model.CircuitBreakerStats;
+import com.example.serviceconsumer.model.CircuitBreakerTransition;
+import com.example.serviceconsumer.resilience.CircuitBreaker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator health contributor for the SlowDependency circuit breaker.
+ * 
+ * Shows up as "dependencyCircuitBreaker" under /actuator/health:
+ * - CLOSED: UP
+ * - OPEN / HALF_OPEN: DEGRADED (HTTP 200)
+ * 
+ * DEGRADED rather than DOWN on purpose: an open breaker means this service is
+ * protecting itself, and the orchestrator should not restart it for that.
+ */
+@Component("dependencyCircuitBreakerHealthIndicator")
+public class CircuitBreakerHealthIndicator implements HealthIndicator {
+
+    public static final Status DEGRADED = new Status("DEGRADED");
+
+    @Autowired
+    private CircuitBreaker dependencyCircuitBreaker;
+
+    @Override
+    public Health health() {
+        CircuitBreakerStats stats = dependencyCircuitBreaker.getStats();
+
+        Health.Builder builder = "CLOSED".equals(stats.getState())
+                ? Health.up()
+                : Health.status(DEGRADED);
+
+        builder.withDetail("state", stats.getState())
+                .withDetail("failureRate", stats.getFailureRate())
+                .withDetail("slowCallRate", stats.getSlowCallRate())
+                .withDetail("bufferedCalls", stats.getBufferedCalls())
+                .withDetail("notPermittedCalls", stats.getNotPermittedCalls())
+                .withDetail("transitionCount", stats.getTransitionCount());
+
+        List<CircuitBreakerTransition> transitions = stats.getRecentTransitions();
+        if (!transitions.isEmpty()) {
+            builder.withDetail("lastTransition", transitions.get(transitions.size() - 1));
+        }
+
+        return builder.build();
+    }
+}
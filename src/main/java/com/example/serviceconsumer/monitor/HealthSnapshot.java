@@ -0,0 +1,86 @@
+package com.example.serviceconsumer.monitor;
+
+import com.example.serviceconsumer.model.HealthResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+
+/**
+ * The /api/health response, serialized ahead of time.
+ * 
+ * Rebuilt every health.fast-path.refresh-interval on the scheduler thread, so
+ * health probes served by HealthFastPathFilter only copy these bytes into the
+ * response: no HealthResponse, no LocalDateTime and no Jackson call per probe.
+ * The timestamp in the body is therefore the time of the last refresh.
+ * 
+ * Status:
+ * - UP: the Tomcat worker pool has free workers
+ * - DEGRADED: every worker is busy ({@link ThreadPoolMonitor#isSaturated()});
+ *   still answered with 200, like the circuit breaker's DEGRADED in /actuator/health.
+ *   Probes only see it when they get a worker, e.g. on the control-plane port
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "health.fast-path.enabled", havingValue = "true")
+public class HealthSnapshot {
+
+    public static final String UP = "UP";
+    public static final String DEGRADED = "DEGRADED";
+
+    @Autowired
+    private ThreadPoolMonitor threadPoolMonitor;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private volatile String status;
+    private volatile byte[] body;
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    @Scheduled(fixedRateString = "${health.fast-path.refresh-interval}")
+    public void refresh() {
+        String newStatus = threadPoolMonitor.isSaturated() ? DEGRADED : UP;
+
+        HealthResponse response = HealthResponse.builder()
+                .status(newStatus)
+                .timestamp(LocalDateTime.now())
+                .message(UP.equals(newStatus) ? "Application is healthy" : "Worker pool saturated, requests are queueing")
+                .build();
+
+        try {
+            body = objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            // Keep serving the previous body
+            log.error("Could not serialize health response: {}", e.getMessage());
+            return;
+        }
+
+        String previous = status;
+        status = newStatus;
+        if (previous != null && !previous.equals(newStatus)) {
+            log.warn("Health status changed: {} -> {}", previous, newStatus);
+        }
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the pre-encoded JSON body; must not be modified
+     */
+    public byte[] getBody() {
+        return body;
+    }
+}
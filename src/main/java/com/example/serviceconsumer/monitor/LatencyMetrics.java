@@ -0,0 +1,136 @@
+package com.example.serviceconsumer.monitor;
+
+import com.example.serviceconsumer.model.LatencyReport;
+import com.example.serviceconsumer.model.LatencyStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rolling latency histograms for inbound and outbound HTTP calls.
+ * 
+ * - Inbound: one histogram per endpoint (the matched handler pattern, e.g.
+ *   /api/process-data), recorded by LatencyRecordingFilter. Requests that never
+ *   reached a controller (404s, filter rejections) are grouped under UNMATCHED.
+ * - Outbound: one histogram per target host and status class (2xx, 5xx, ...;
+ *   IO_ERROR when no response was received), recorded by the RestTemplate
+ *   interceptor and the NIO client.
+ * 
+ * Windows are rolled every metrics.latency.window-interval, and percentiles
+ * cover the last metrics.latency.window-count intervals.
+ */
+@Slf4j
+@Component
+public class LatencyMetrics {
+
+    public static final String UNMATCHED_ENDPOINT = "UNMATCHED";
+
+    private static final int IO_ERROR = 0;
+    private static final String[] STATUS_CLASSES = {"IO_ERROR", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final long highestTrackableNanos;
+    private final int significantDigits;
+    private final int windowCount;
+    private final long windowIntervalMs;
+
+    private final ConcurrentMap<String, RollingLatencyHistogram> inbound = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RollingLatencyHistogram[]> outbound = new ConcurrentHashMap<>();
+
+    public LatencyMetrics(@Value("${metrics.latency.highest-trackable}") long highestTrackableMs,
+                          @Value("${metrics.latency.significant-digits}") int significantDigits,
+                          @Value("${metrics.latency.window-count}") int windowCount,
+                          @Value("${metrics.latency.window-interval}") long windowIntervalMs) {
+        this.highestTrackableNanos = TimeUnit.MILLISECONDS.toNanos(highestTrackableMs);
+        this.significantDigits = significantDigits;
+        this.windowCount = windowCount;
+        this.windowIntervalMs = windowIntervalMs;
+
+        log.info("Latency histograms configured with window={}x{}ms, highestTrackable={}ms, significantDigits={}",
+                windowCount, windowIntervalMs, highestTrackableMs, significantDigits);
+    }
+
+    /**
+     * Record the latency of an inbound request.
+     * 
+     * @param endpoint Matched handler pattern, or {@link #UNMATCHED_ENDPOINT}
+     */
+    public void recordInbound(String endpoint, long nanos) {
+        RollingLatencyHistogram histogram = inbound.get(endpoint);
+        if (histogram == null) {
+            histogram = inbound.computeIfAbsent(endpoint, key -> newHistogram());
+        }
+        histogram.record(nanos);
+    }
+
+    /**
+     * Record the latency of an outbound call.
+     * 
+     * @param host       Target host and port
+     * @param statusCode HTTP status, or 0 if no response was received
+     */
+    public void recordOutbound(String host, int statusCode, long nanos) {
+        RollingLatencyHistogram[] byStatusClass = outbound.get(host);
+        if (byStatusClass == null) {
+            byStatusClass = outbound.computeIfAbsent(host, key -> new RollingLatencyHistogram[STATUS_CLASSES.length]);
+        }
+
+        int statusClass = statusCode >= 100 && statusCode < 600 ? statusCode / 100 : IO_ERROR;
+        RollingLatencyHistogram histogram = byStatusClass[statusClass];
+        if (histogram == null) {
+            synchronized (byStatusClass) {
+                histogram = byStatusClass[statusClass];
+                if (histogram == null) {
+                    histogram = newHistogram();
+                    byStatusClass[statusClass] = histogram;
+                }
+            }
+        }
+        histogram.record(nanos);
+    }
+
+    @Scheduled(fixedRateString = "${metrics.latency.window-interval}")
+    public void rollWindows() {
+        inbound.values().forEach(RollingLatencyHistogram::roll);
+        for (RollingLatencyHistogram[] byStatusClass : outbound.values()) {
+            synchronized (byStatusClass) {
+                for (RollingLatencyHistogram histogram : byStatusClass) {
+                    if (histogram != null) {
+                        histogram.roll();
+                    }
+                }
+            }
+        }
+    }
+
+    public LatencyReport getReport() {
+        Map<String, LatencyStats> inboundStats = new TreeMap<>();
+        inbound.forEach((endpoint, histogram) -> inboundStats.put(endpoint, histogram.getStats()));
+
+        Map<String, LatencyStats> outboundStats = new TreeMap<>();
+        outbound.forEach((host, byStatusClass) -> {
+            for (int i = 0; i < byStatusClass.length; i++) {
+                RollingLatencyHistogram histogram = byStatusClass[i];
+                if (histogram != null) {
+                    outboundStats.put(host + " " + STATUS_CLASSES[i], histogram.getStats());
+                }
+            }
+        });
+
+        return LatencyReport.builder()
+                .windowSeconds(TimeUnit.MILLISECONDS.toSeconds(windowIntervalMs * windowCount))
+                .inbound(inboundStats)
+                .outbound(outboundStats)
+                .build();
+    }
+
+    private RollingLatencyHistogram newHistogram() {
+        return new RollingLatencyHistogram(highestTrackableNanos, significantDigits, windowCount);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.serviceconsumer.monitor;
+
+import com.example.serviceconsumer.model.LatencyStats;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latency histogram over a rolling window, at nanosecond resolution.
+ * 
+ * Values are recorded into an HdrHistogram {@link Recorder}: a wait-free,
+ * allocation-free write path, so recording from request threads adds no
+ * contention and no garbage. Every window interval {@link #roll()} swaps out
+ * the recorded interval into a ring of windowCount intervals; percentiles are
+ * computed over the whole ring, i.e. the last windowCount * interval.
+ */
+public class RollingLatencyHistogram {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final long highestTrackableNanos;
+    private final Recorder recorder;
+
+    // Completed intervals (guarded by this); slots are recycled by the recorder
+    private final Histogram[] intervals;
+    private int intervalIndex;
+    private final Histogram aggregate;
+
+    public RollingLatencyHistogram(long highestTrackableNanos, int significantDigits, int windowCount) {
+        this.highestTrackableNanos = highestTrackableNanos;
+        this.recorder = new Recorder(1, highestTrackableNanos, significantDigits);
+        this.intervals = new Histogram[windowCount];
+        this.aggregate = new Histogram(1, highestTrackableNanos, significantDigits);
+    }
+
+    /**
+     * Record one latency. Values above the trackable range are clamped to it.
+     */
+    public void record(long nanos) {
+        recorder.recordValue(Math.max(1, Math.min(nanos, highestTrackableNanos)));
+    }
+
+    /**
+     * Close the current interval and drop the oldest one from the window.
+     */
+    public synchronized void roll() {
+        intervalIndex = (intervalIndex + 1) % intervals.length;
+        intervals[intervalIndex] = recorder.getIntervalHistogram(intervals[intervalIndex]);
+    }
+
+    /**
+     * Percentiles over the completed intervals of the window.
+     */
+    public synchronized LatencyStats getStats() {
+        aggregate.reset();
+        for (Histogram interval : intervals) {
+            if (interval != null) {
+                aggregate.add(interval);
+            }
+        }
+
+        return LatencyStats.builder()
+                .count(aggregate.getTotalCount())
+                .p50Ms(toMillis(aggregate.getValueAtPercentile(50.0)))
+                .p90Ms(toMillis(aggregate.getValueAtPercentile(90.0)))
+                .p99Ms(toMillis(aggregate.getValueAtPercentile(99.0)))
+                .p999Ms(toMillis(aggregate.getValueAtPercentile(99.9)))
+                .maxMs(toMillis(aggregate.getMaxValue()))
+                .build();
+    }
+
+    /**
+     * Value at the given percentile over the completed intervals of the window.
+     * 
+     * @return Latency in nanoseconds, or 0 if fewer than minCount values were recorded
+     */
+    public synchronized long getValueAtPercentile(double percentile, long minCount) {
+        aggregate.reset();
+        for (Histogram interval : intervals) {
+            if (interval != null) {
+                aggregate.add(interval);
+            }
+        }
+        return aggregate.getTotalCount() < minCount ? 0 : aggregate.getValueAtPercentile(percentile);
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / NANOS_PER_MILLI * 1000) / 1000.0;
+    }
+}
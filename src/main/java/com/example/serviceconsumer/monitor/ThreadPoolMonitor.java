@@ -1,9 +1,9 @@
 package com.example.serviceconsumer.monitor;
 
+import com.example.serviceconsumer.model.ThreadPoolStats;
+import com.example.serviceconsumer.model.VirtualThreadStats;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
-import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -15,77 +15,97 @@ import org.springframework.stereotype.Component;
  * 
  * The logs show:
  * - Active threads vs max threads
+ * - Requests queued for a worker and their queue wait
  * - Whether pool is exhausted
  * - Warnings when threads are near capacity
  * 
  * This helps demonstrate how the application slowly degrades under sustained
  * load until it reaches complete thread pool starvation.
+ * 
+ * In virtual-thread mode it logs in-flight virtual threads, mounted carriers
+ * and pinned events instead.
+ * 
+ * {@link #isSaturated()} exposes the same exhaustion check to the health fast
+ * path, which reports DEGRADED while it holds.
  */
 @Slf4j
 @Component
 public class ThreadPoolMonitor {
 
-    @Autowired
-    private ServletWebServerApplicationContext webServerAppContext;
+    @Autowired(required = false)
+    private WorkerPoolSampler workerPoolSampler;
+
+    @Autowired(required = false)
+    private VirtualThreadMonitor virtualThreadMonitor;
 
     /**
      * Log thread pool statistics every 30 seconds.
      * 
      * This runs in the background and provides visibility into the
-     * gradual degradation of the thread pool under load.
+     * gradual degradation of the thread pool under load. The per-second
+     * history is available from WorkerPoolSampler (/api/metrics/worker-pool).
      */
     @Scheduled(fixedRate = 30000) // Every 30 seconds
     public void logThreadPoolStatus() {
         try {
-            TomcatWebServer tomcatWebServer = (TomcatWebServer) webServerAppContext.getWebServer();
-            org.apache.catalina.connector.Connector connector = tomcatWebServer.getTomcat().getConnector();
-            org.apache.coyote.ProtocolHandler protocolHandler = connector.getProtocolHandler();
-            
-            // Try to get executor directly from protocol handler
-            Object executor = null;
-            int maxThreads = 20; // Default from config
-            int activeThreads = 0;
-            
-            try {
-                // Try different methods to get thread pool info based on Tomcat version
-                if (protocolHandler instanceof org.apache.coyote.http11.AbstractHttp11Protocol) {
-                    org.apache.coyote.http11.AbstractHttp11Protocol<?> http11Protocol = 
-                            (org.apache.coyote.http11.AbstractHttp11Protocol<?>) protocolHandler;
-                    
-                    executor = http11Protocol.getExecutor();
-                    
-                    if (executor instanceof org.apache.tomcat.util.threads.ThreadPoolExecutor) {
-                        org.apache.tomcat.util.threads.ThreadPoolExecutor tpe = 
-                                (org.apache.tomcat.util.threads.ThreadPoolExecutor) executor;
-                        maxThreads = tpe.getMaximumPoolSize();
-                        activeThreads = tpe.getActiveCount();
-                    }
-                }
-            } catch (Exception e) {
-                // Fallback: use JVM thread count as approximation
-                activeThreads = Thread.activeCount();
+            if (workerPoolSampler == null) {
+                logVirtualThreadStatus();
+                return;
             }
+
+            ThreadPoolStats stats = workerPoolSampler.getStats();
+            int maxThreads = stats.getMaxThreads();
+            int activeThreads = stats.getActiveThreads();
             
             // Calculate thread pool utilization percentage
             int utilization = maxThreads > 0 ? (int) ((activeThreads * 100.0) / maxThreads) : 0;
             
             // Log with appropriate level based on utilization
             if (activeThreads >= maxThreads) {
-                log.warn("⚠️  THREAD POOL EXHAUSTED! Active: {}/{} (100%) [ALL THREADS BUSY]",
-                        activeThreads, maxThreads);
+                log.warn("⚠️  THREAD POOL EXHAUSTED! Active: {}/{} (100%) Queued: {} QueueWait p99: {}ms [ALL THREADS BUSY]",
+                        activeThreads, maxThreads, stats.getQueueSize(), stats.getQueueWaitP99Ms());
             } else if (utilization >= 80) {
-                log.warn("Thread Pool Status: Active: {}/{} ({}%) [HIGH LOAD]",
-                        activeThreads, maxThreads, utilization);
+                log.warn("Thread Pool Status: Active: {}/{} ({}%) Queued: {} QueueWait p99: {}ms [HIGH LOAD]",
+                        activeThreads, maxThreads, utilization, stats.getQueueSize(), stats.getQueueWaitP99Ms());
             } else if (utilization >= 50) {
-                log.info("Thread Pool Status: Active: {}/{} ({}%) [MODERATE LOAD]",
-                        activeThreads, maxThreads, utilization);
+                log.info("Thread Pool Status: Active: {}/{} ({}%) Queued: {} QueueWait p99: {}ms [MODERATE LOAD]",
+                        activeThreads, maxThreads, utilization, stats.getQueueSize(), stats.getQueueWaitP99Ms());
             } else {
-                log.info("Thread Pool Status: Active: {}/{} ({}%) [HEALTHY]",
-                        activeThreads, maxThreads, utilization);
+                log.info("Thread Pool Status: Active: {}/{} ({}%) Queued: {} QueueWait p99: {}ms [HEALTHY]",
+                        activeThreads, maxThreads, utilization, stats.getQueueSize(), stats.getQueueWaitP99Ms());
             }
             
         } catch (Exception e) {
             log.debug("Could not retrieve thread pool stats: {}", e.getMessage());
         }
     }
+
+    /**
+     * Whether every Tomcat worker is busy, so new requests queue for a worker.
+     * 
+     * @return false in virtual-thread mode, which has no worker pool to exhaust
+     */
+    public boolean isSaturated() {
+        return workerPoolSampler != null && workerPoolSampler.getStats().isExhausted();
+    }
+
+    /**
+     * In virtual-thread mode there is no worker pool to exhaust; what matters is
+     * how many requests are in flight and whether carriers are being pinned.
+     */
+    private void logVirtualThreadStatus() {
+        if (virtualThreadMonitor == null) {
+            return;
+        }
+
+        VirtualThreadStats stats = virtualThreadMonitor.getStats();
+        if (stats.getPinnedEvents() > 0) {
+            log.warn("Virtual Threads: In-flight: {} Carriers: {}/{} mounted, Pinned events: {} (max {}ms) [PINNING]",
+                    stats.getInFlightRequests(), stats.getMountedCarriers(), stats.getCarrierThreads(),
+                    stats.getPinnedEvents(), stats.getPinnedMaxMs());
+        } else {
+            log.info("Virtual Threads: In-flight: {} Carriers: {}/{} mounted, Pinned events: 0",
+                    stats.getInFlightRequests(), stats.getMountedCarriers(), stats.getCarrierThreads());
+        }
+    }
 }
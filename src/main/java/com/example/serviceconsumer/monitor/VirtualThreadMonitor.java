@@ -0,0 +1,130 @@
+package com.example.serviceconsumer.monitor;
+
+import com.example.serviceconsumer.concurrent.VirtualThreadTomcatExecutor;
+import com.example.serviceconsumer.model.VirtualThreadStats;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Statistics for virtual-thread mode, in place of platform pool counts.
+ * 
+ * - In-flight requests: virtual threads currently handling a request
+ * - Carrier threads: platform threads of the virtual-thread scheduler, and how
+ *   many of them are currently running (i.e. have a virtual thread mounted)
+ * - Pinned events: jdk.VirtualThreadPinned JFR events, raised when a virtual
+ *   thread blocks while pinned to its carrier (e.g. inside synchronized), so
+ *   the carrier cannot be reused. Pinning on a hot path brings back the
+ *   fixed-pool ceiling, with only schedulerParallelism carriers.
+ * 
+ * JFR streaming (JDK 14+) is accessed reflectively, since the project is
+ * compiled for Java 8.
+ */
+@Slf4j
+public class VirtualThreadMonitor {
+
+    private static final String CARRIER_THREAD_CLASS = "jdk.internal.misc.CarrierThread";
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final VirtualThreadTomcatExecutor executor;
+    private final Duration pinnedThreshold;
+
+    private final LongAdder pinnedEvents = new LongAdder();
+    private final LongAdder pinnedTotalNanos = new LongAdder();
+    private final AtomicLong pinnedMaxNanos = new AtomicLong();
+
+    private AutoCloseable recordingStream;
+
+    public VirtualThreadMonitor(VirtualThreadTomcatExecutor executor, Duration pinnedThreshold) {
+        this.executor = executor;
+        this.pinnedThreshold = pinnedThreshold;
+    }
+
+    /**
+     * Start streaming pinned events from JFR. Monitoring is skipped (with a
+     * warning) if JFR streaming is unavailable.
+     */
+    public void start() {
+        try {
+            Class<?> streamType = Class.forName("jdk.jfr.consumer.RecordingStream");
+            Object stream = streamType.getConstructor().newInstance();
+
+            Object settings = streamType.getMethod("enable", String.class).invoke(stream, PINNED_EVENT);
+            Class.forName("jdk.jfr.EventSettings").getMethod("withThreshold", Duration.class)
+                    .invoke(settings, pinnedThreshold);
+
+            Method getDuration = Class.forName("jdk.jfr.consumer.RecordedEvent").getMethod("getDuration");
+            Consumer<Object> onPinned = event -> {
+                try {
+                    recordPinned(((Duration) getDuration.invoke(event)).toNanos());
+                } catch (ReflectiveOperationException e) {
+                    recordPinned(0);
+                }
+            };
+            streamType.getMethod("onEvent", String.class, Consumer.class).invoke(stream, PINNED_EVENT, onPinned);
+            streamType.getMethod("startAsync").invoke(stream);
+
+            recordingStream = (AutoCloseable) stream;
+            log.info("Monitoring virtual thread pinning (threshold {}ms)", pinnedThreshold.toMillis());
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("JFR streaming unavailable, virtual thread pinning is not monitored: {}", e.toString());
+        }
+    }
+
+    public void close() throws Exception {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void recordPinned(long durationNanos) {
+        pinnedEvents.increment();
+        pinnedTotalNanos.add(durationNanos);
+        pinnedMaxNanos.accumulateAndGet(durationNanos, Math::max);
+    }
+
+    public VirtualThreadStats getStats() {
+        int carriers = 0;
+        int mounted = 0;
+        for (Thread thread : allPlatformThreads()) {
+            if (thread != null && CARRIER_THREAD_CLASS.equals(thread.getClass().getName())) {
+                carriers++;
+                if (thread.getState() == Thread.State.RUNNABLE) {
+                    mounted++;
+                }
+            }
+        }
+
+        return VirtualThreadStats.builder()
+                .inFlightRequests(executor.getInFlight())
+                .startedRequests(executor.getStarted())
+                .completedRequests(executor.getCompleted())
+                .schedulerParallelism(Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+                        Runtime.getRuntime().availableProcessors()))
+                .carrierThreads(carriers)
+                .mountedCarriers(mounted)
+                .pinnedEvents(pinnedEvents.sum())
+                .pinnedTotalMs(pinnedTotalNanos.sum() / 1_000_000.0)
+                .pinnedMaxMs(pinnedMaxNanos.get() / 1_000_000.0)
+                .pinnedEventsMonitored(recordingStream != null)
+                .build();
+    }
+
+    private static Thread[] allPlatformThreads() {
+        ThreadGroup root = Thread.currentThread().getThreadGroup();
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+
+        Thread[] threads = new Thread[root.activeCount() + 16];
+        int count;
+        while ((count = root.enumerate(threads, true)) == threads.length) {
+            threads = new Thread[threads.length * 2];
+        }
+        return threads;
+    }
+}
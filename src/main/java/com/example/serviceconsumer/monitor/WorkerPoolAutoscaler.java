@@ -0,0 +1,279 @@
+package com.example.serviceconsumer.monitor;
+
+import com.example.serviceconsumer.concurrent.InstrumentedTomcatExecutor;
+import com.example.serviceconsumer.model.ThreadPoolStats;
+import com.example.serviceconsumer.model.WorkerPoolAutoscaleStats;
+import com.example.serviceconsumer.model.WorkerPoolResize;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resizes the Tomcat worker pool of the main connector at runtime, between
+ * worker-pool.autoscale.min-threads and max-threads.
+ *
+ * Evaluated after every WorkerPoolSampler sample, from the sampled worker busy
+ * percentage and queue wait (p99 of the interval, or the live wait of the
+ * oldest queued request if larger) plus the machine's CPU load:
+ * - Grow by scale-up-step when busy >= scale-up-busy-percent or queue wait >=
+ *   scale-up-queue-wait for scale-up-after consecutive samples, unless CPU is
+ *   at cpu-ceiling-percent (more threads would only compete for the same cores)
+ * - Shrink by scale-down-step when busy <= scale-down-busy-percent with nothing
+ *   queued for scale-down-after consecutive samples
+ * - No resize within cooldown of the previous one
+ *
+ * The gap between the two busy thresholds, the consecutive-sample counts and
+ * the cooldown are the hysteresis that keeps the pool from oscillating. Core
+ * size follows max size in the configured server.tomcat.threads.min-spare /
+ * max ratio. Every resize is logged and kept in the recent resizes shown under
+ * workerPoolAutoscale in /api/metrics.
+ *
+ * More threads do not help when workers are blocked on a hanging dependency;
+ * max-threads bounds how far the pool grows in that case, and the bulkhead
+ * still caps how many of them can wait on SlowDependency.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "virtual-threads.enabled", havingValue = "false", matchIfMissing = true)
+public class WorkerPoolAutoscaler {
+
+    private static final int MAX_RECENT_RESIZES = 20;
+
+    @Autowired
+    private InstrumentedTomcatExecutor tomcatWorkerExecutor;
+
+    @Autowired
+    private WorkerPoolSampler workerPoolSampler;
+
+    private final boolean enabled;
+    private final int minThreads;
+    private final int maxThreads;
+    private final double coreRatio;
+    private final double scaleUpBusyPercent;
+    private final double scaleUpQueueWaitMs;
+    private final double scaleDownBusyPercent;
+    private final double scaleUpStep;
+    private final double scaleDownStep;
+    private final int scaleUpAfter;
+    private final int scaleDownAfter;
+    private final long cooldownNanos;
+    private final double cpuCeilingPercent;
+
+    private final OperatingSystemMXBean operatingSystem = ManagementFactory.getOperatingSystemMXBean();
+
+    // Decision state (guarded by this)
+    private int highSamples;
+    private int lowSamples;
+    private long lastResizeNanos;
+    private boolean heldForCpuLogged;
+    private String lastDecision = "hold";
+    private double lastCpuPercent = -1;
+    private long scaleUps;
+    private long scaleDowns;
+    private long heldForCpu;
+    private final Deque<WorkerPoolResize> recentResizes = new ArrayDeque<>();
+
+    public WorkerPoolAutoscaler(@Value("${worker-pool.autoscale.enabled}") boolean enabled,
+                                @Value("${worker-pool.autoscale.min-threads}") int minThreads,
+                                @Value("${worker-pool.autoscale.max-threads}") int maxThreads,
+                                @Value("${server.tomcat.threads.min-spare}") int configuredMinSpare,
+                                @Value("${server.tomcat.threads.max}") int configuredMax,
+                                @Value("${worker-pool.autoscale.scale-up-busy-percent}") double scaleUpBusyPercent,
+                                @Value("${worker-pool.autoscale.scale-up-queue-wait}") double scaleUpQueueWaitMs,
+                                @Value("${worker-pool.autoscale.scale-down-busy-percent}") double scaleDownBusyPercent,
+                                @Value("${worker-pool.autoscale.scale-up-step}") double scaleUpStep,
+                                @Value("${worker-pool.autoscale.scale-down-step}") double scaleDownStep,
+                                @Value("${worker-pool.autoscale.scale-up-after}") int scaleUpAfter,
+                                @Value("${worker-pool.autoscale.scale-down-after}") int scaleDownAfter,
+                                @Value("${worker-pool.autoscale.cooldown}") long cooldownMs,
+                                @Value("${worker-pool.autoscale.cpu-ceiling-percent}") double cpuCeilingPercent) {
+        if (minThreads < 1 || maxThreads < minThreads) {
+            throw new IllegalArgumentException("worker-pool.autoscale requires 1 <= min-threads <= max-threads, got "
+                    + minThreads + " and " + maxThreads);
+        }
+        if (scaleDownBusyPercent >= scaleUpBusyPercent) {
+            throw new IllegalArgumentException("worker-pool.autoscale.scale-down-busy-percent must be below "
+                    + "scale-up-busy-percent, or the pool would oscillate");
+        }
+        this.enabled = enabled;
+        this.minThreads = minThreads;
+        this.maxThreads = maxThreads;
+        this.coreRatio = configuredMax > 0 ? Math.min(1.0, (double) configuredMinSpare / configuredMax) : 1.0;
+        this.scaleUpBusyPercent = scaleUpBusyPercent;
+        this.scaleUpQueueWaitMs = scaleUpQueueWaitMs;
+        this.scaleDownBusyPercent = scaleDownBusyPercent;
+        this.scaleUpStep = scaleUpStep;
+        this.scaleDownStep = scaleDownStep;
+        this.scaleUpAfter = Math.max(1, scaleUpAfter);
+        this.scaleDownAfter = Math.max(1, scaleDownAfter);
+        this.cooldownNanos = TimeUnit.MILLISECONDS.toNanos(cooldownMs);
+        this.cpuCeilingPercent = cpuCeilingPercent;
+        this.lastResizeNanos = System.nanoTime() - cooldownNanos;
+
+        log.info("Worker pool autoscaling configured with enabled={}, threads={}..{}, scaleUp at busy>={}% or "
+                        + "queueWait>={}ms for {} samples (+{}%), scaleDown at busy<={}% for {} samples (-{}%), "
+                        + "cooldown={}ms, cpuCeiling={}%",
+                enabled, minThreads, maxThreads, scaleUpBusyPercent, scaleUpQueueWaitMs, this.scaleUpAfter,
+                Math.round(scaleUpStep * 100), scaleDownBusyPercent, this.scaleDownAfter,
+                Math.round(scaleDownStep * 100), cooldownMs, cpuCeilingPercent);
+    }
+
+    /**
+     * Bring a server.tomcat.threads.max outside the autoscaling bounds into
+     * them, and start evaluating after every sample.
+     */
+    @PostConstruct
+    public synchronized void init() {
+        if (!enabled) {
+            return;
+        }
+        workerPoolSampler.addSampleListener(this::evaluate);
+        int current = tomcatWorkerExecutor.getMaximumPoolSize();
+        int bounded = Math.max(minThreads, Math.min(maxThreads, current));
+        if (bounded != current) {
+            resize(current, bounded, "clamped to autoscaling bounds", 0.0, 0.0, readCpuPercent());
+        }
+    }
+
+    /**
+     * Decide on a resize from the sample just stored.
+     */
+    public synchronized void evaluate() {
+        ThreadPoolStats stats = workerPoolSampler.getStats();
+        double busyPercent = stats.getBusyPercent();
+        double queueWaitMs = Math.max(stats.getQueueWaitP99Ms(), stats.getOldestQueuedWaitMs());
+        double cpuPercent = readCpuPercent();
+        lastCpuPercent = cpuPercent;
+
+        boolean high = busyPercent >= scaleUpBusyPercent || queueWaitMs >= scaleUpQueueWaitMs;
+        boolean low = busyPercent <= scaleDownBusyPercent && stats.getQueueSize() == 0
+                && queueWaitMs < scaleUpQueueWaitMs;
+        highSamples = high ? highSamples + 1 : 0;
+        lowSamples = low ? lowSamples + 1 : 0;
+
+        if (System.nanoTime() - lastResizeNanos < cooldownNanos) {
+            lastDecision = "hold: cooldown";
+            return;
+        }
+
+        int currentMax = tomcatWorkerExecutor.getMaximumPoolSize();
+
+        if (highSamples >= scaleUpAfter) {
+            if (currentMax >= maxThreads) {
+                lastDecision = "hold: at max-threads";
+                return;
+            }
+            if (cpuPercent >= cpuCeilingPercent) {
+                heldForCpu++;
+                lastDecision = "hold: no CPU headroom";
+                if (!heldForCpuLogged) {
+                    log.warn("Worker pool not grown: saturated (busy {}%, queue wait p99 {}ms) but CPU at {}%",
+                            busyPercent, queueWaitMs, cpuPercent);
+                    heldForCpuLogged = true;
+                }
+                return;
+            }
+            int target = Math.min(maxThreads, Math.max(currentMax + 1, (int) Math.ceil(currentMax * (1 + scaleUpStep))));
+            String reason = busyPercent >= scaleUpBusyPercent
+                    ? "busy " + busyPercent + "% >= " + scaleUpBusyPercent + "%"
+                    : "queue wait " + queueWaitMs + "ms >= " + scaleUpQueueWaitMs + "ms";
+            resize(currentMax, target, reason, busyPercent, queueWaitMs, cpuPercent);
+            scaleUps++;
+
+        } else if (lowSamples >= scaleDownAfter) {
+            if (currentMax <= minThreads) {
+                lastDecision = "hold: at min-threads";
+                return;
+            }
+            int target = Math.max(minThreads, Math.min(currentMax - 1, (int) Math.floor(currentMax * (1 - scaleDownStep))));
+            resize(currentMax, target, "busy " + busyPercent + "% <= " + scaleDownBusyPercent + "%",
+                    busyPercent, queueWaitMs, cpuPercent);
+            scaleDowns++;
+
+        } else {
+            lastDecision = "hold";
+            heldForCpuLogged = false;
+        }
+    }
+
+    private void resize(int fromMax, int toMax, String reason, double busyPercent, double queueWaitMs, double cpuPercent) {
+        int fromCore = tomcatWorkerExecutor.getCorePoolSize();
+        int toCore = Math.max(1, Math.min(toMax, (int) Math.round(toMax * coreRatio)));
+
+        // Core size must never exceed max size, so the order depends on the direction
+        if (toMax > fromMax) {
+            tomcatWorkerExecutor.setMaximumPoolSize(toMax);
+            tomcatWorkerExecutor.setCorePoolSize(toCore);
+        } else {
+            tomcatWorkerExecutor.setCorePoolSize(toCore);
+            tomcatWorkerExecutor.setMaximumPoolSize(toMax);
+        }
+
+        highSamples = 0;
+        lowSamples = 0;
+        heldForCpuLogged = false;
+        lastResizeNanos = System.nanoTime();
+        lastDecision = (toMax > fromMax ? "grow: " : "shrink: ") + reason;
+
+        log.info("Worker pool resized: maxThreads {} -> {}, coreThreads {} -> {} ({}; busy {}%, queue wait p99 {}ms, cpu {}%)",
+                fromMax, toMax, fromCore, toCore, reason, busyPercent, queueWaitMs, cpuPercent);
+
+        if (recentResizes.size() == MAX_RECENT_RESIZES) {
+            recentResizes.removeFirst();
+        }
+        recentResizes.addLast(WorkerPoolResize.builder()
+                .fromMaxThreads(fromMax)
+                .toMaxThreads(toMax)
+                .fromCoreThreads(fromCore)
+                .toCoreThreads(toCore)
+                .reason(reason)
+                .busyPercent(busyPercent)
+                .queueWaitP99Ms(queueWaitMs)
+                .cpuPercent(cpuPercent)
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * @return whole-machine CPU load in percent, or -1 if the JVM does not
+     *         report it (growth is then never held back for CPU)
+     */
+    // getSystemCpuLoad() is deprecated from JDK 14 in favour of getCpuLoad(), which Java 8 does not have
+    @SuppressWarnings("deprecation")
+    private double readCpuPercent() {
+        if (operatingSystem instanceof com.sun.management.OperatingSystemMXBean) {
+            double load = ((com.sun.management.OperatingSystemMXBean) operatingSystem).getSystemCpuLoad();
+            if (load >= 0) {
+                return Math.round(load * 1000) / 10.0;
+            }
+        }
+        return -1;
+    }
+
+    public synchronized WorkerPoolAutoscaleStats getStats() {
+        return WorkerPoolAutoscaleStats.builder()
+                .enabled(enabled)
+                .minThreads(minThreads)
+                .maxThreads(maxThreads)
+                .currentMaxThreads(tomcatWorkerExecutor.getMaximumPoolSize())
+                .currentCoreThreads(tomcatWorkerExecutor.getCorePoolSize())
+                .lastDecision(lastDecision)
+                .cpuPercent(lastCpuPercent)
+                .scaleUps(scaleUps)
+                .scaleDowns(scaleDowns)
+                .heldForCpu(heldForCpu)
+                .recentResizes(new ArrayList<>(recentResizes))
+                .build();
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.serviceconsumer.monitor;
+
+import com.example.serviceconsumer.concurrent.InstrumentedTomcatExecutor;
+import com.example.serviceconsumer.model.ThreadPoolStats;
+import com.example.serviceconsumer.model.WorkerPoolHistory;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the Tomcat worker pool every worker-pool.sample-interval (1s by
+ * default) into a fixed ring buffer of primitive arrays.
+ * 
+ * Each sample holds the queue length, active and pooled threads, open
+ * connections, requests handed to workers, queue wait percentiles and worker
+ * busy percentage for the interval. Queue wait is the earliest sign of
+ * starvation: it rises as soon as requests wait for a worker, well before the
+ * pool shows as exhausted or /api/health stops answering.
+ * 
+ * Connections beyond server.tomcat.max-connections wait in the OS accept
+ * backlog, which cannot be observed from the JVM; connectionCount reaching
+ * maxConnections means that backlog is filling.
+ * 
+ * Listeners registered with {@link #addSampleListener} run right after each
+ * sample is stored (e.g. WorkerPoolAutoscaler).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "virtual-threads.enabled", havingValue = "false", matchIfMissing = true)
+public class WorkerPoolSampler {
+
+    @Autowired
+    private InstrumentedTomcatExecutor tomcatWorkerExecutor;
+
+    @Autowired
+    private ServletWebServerApplicationContext webServerAppContext;
+
+    private final long sampleIntervalMs;
+
+    // Ring buffer (guarded by this)
+    private final long[] timestamps;
+    private final int[] queueLength;
+    private final int[] activeThreads;
+    private final int[] poolSize;
+    private final long[] connections;
+    private final long[] requests;
+    private final long[] queueWaitP50Micros;
+    private final long[] queueWaitP99Micros;
+    private final long[] queueWaitMaxMicros;
+    private final double[] busyPercent;
+    private int nextIndex;
+    private int sampleCount;
+
+    private final List<Runnable> sampleListeners = new CopyOnWriteArrayList<>();
+
+    private Histogram queueWaitInterval;
+    private long lastBusyNanos;
+    private long lastSampleNanos;
+
+    public WorkerPoolSampler(@Value("${worker-pool.sample-interval}") long sampleIntervalMs,
+                             @Value("${worker-pool.history-size}") int historySize) {
+        this.sampleIntervalMs = sampleIntervalMs;
+        this.timestamps = new long[historySize];
+        this.queueLength = new int[historySize];
+        this.activeThreads = new int[historySize];
+        this.poolSize = new int[historySize];
+        this.connections = new long[historySize];
+        this.requests = new long[historySize];
+        this.queueWaitP50Micros = new long[historySize];
+        this.queueWaitP99Micros = new long[historySize];
+        this.queueWaitMaxMicros = new long[historySize];
+        this.busyPercent = new double[historySize];
+        this.lastSampleNanos = System.nanoTime();
+    }
+
+    /**
+     * Run listener on the sampling thread after every sample.
+     */
+    public void addSampleListener(Runnable listener) {
+        sampleListeners.add(listener);
+    }
+
+    @Scheduled(fixedRateString = "${worker-pool.sample-interval}")
+    public void sample() {
+        record();
+        for (Runnable listener : sampleListeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                log.error("Worker pool sample listener failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private synchronized void record() {
+        long now = System.nanoTime();
+        long busyNanos = tomcatWorkerExecutor.getBusyNanos();
+        queueWaitInterval = tomcatWorkerExecutor.getIntervalQueueWait(queueWaitInterval);
+
+        long elapsedNanos = now - lastSampleNanos;
+        long busyDelta = Math.max(0, busyNanos - lastBusyNanos);
+        int maxThreads = tomcatWorkerExecutor.getMaximumPoolSize();
+        lastBusyNanos = busyNanos;
+        lastSampleNanos = now;
+
+        int i = nextIndex;
+        timestamps[i] = System.currentTimeMillis();
+        queueLength[i] = tomcatWorkerExecutor.getQueueLength();
+        activeThreads[i] = tomcatWorkerExecutor.getActiveCount();
+        poolSize[i] = tomcatWorkerExecutor.getPoolSize();
+        connections[i] = getConnectionCount();
+        requests[i] = queueWaitInterval.getTotalCount();
+        queueWaitP50Micros[i] = TimeUnit.NANOSECONDS.toMicros(queueWaitInterval.getValueAtPercentile(50.0));
+        queueWaitP99Micros[i] = TimeUnit.NANOSECONDS.toMicros(queueWaitInterval.getValueAtPercentile(99.0));
+        queueWaitMaxMicros[i] = TimeUnit.NANOSECONDS.toMicros(queueWaitInterval.getMaxValue());
+        busyPercent[i] = elapsedNanos > 0 && maxThreads > 0
+                ? Math.min(100.0, busyDelta * 100.0 / ((double) elapsedNanos * maxThreads))
+                : 0.0;
+
+        nextIndex = (i + 1) % timestamps.length;
+        sampleCount = Math.min(sampleCount + 1, timestamps.length);
+    }
+
+    /**
+     * Current pool state, with queue wait and busy time from the latest sample.
+     */
+    public synchronized ThreadPoolStats getStats() {
+        int maxThreads = tomcatWorkerExecutor.getMaximumPoolSize();
+        int active = tomcatWorkerExecutor.getActiveCount();
+        int last = (nextIndex - 1 + timestamps.length) % timestamps.length;
+        boolean sampled = sampleCount > 0;
+
+        return ThreadPoolStats.builder()
+                .maxThreads(maxThreads)
+                .activeThreads(active)
+                .queueSize(tomcatWorkerExecutor.getQueueLength())
+                .poolSize(tomcatWorkerExecutor.getPoolSize())
+                .completedTasks(tomcatWorkerExecutor.getCompletedTaskCount())
+                .exhausted(active >= maxThreads)
+                .connectionCount(getConnectionCount())
+                .maxConnections(getMaxConnections())
+                .oldestQueuedWaitMs(TimeUnit.NANOSECONDS.toMicros(tomcatWorkerExecutor.getOldestQueuedWaitNanos()) / 1000.0)
+                .queueWaitP99Ms(sampled ? queueWaitP99Micros[last] / 1000.0 : 0.0)
+                .queueWaitMaxMs(sampled ? queueWaitMaxMicros[last] / 1000.0 : 0.0)
+                .busyPercent(sampled ? Math.round(busyPercent[last] * 10) / 10.0 : 0.0)
+                .build();
+    }
+
+    /**
+     * All samples in the ring buffer, oldest first.
+     */
+    public synchronized WorkerPoolHistory getHistory() {
+        int start = sampleCount < timestamps.length ? 0 : nextIndex;
+
+        return WorkerPoolHistory.builder()
+                .sampleIntervalMs(sampleIntervalMs)
+                .timestamps(ordered(timestamps, start))
+                .queueLength(ordered(queueLength, start))
+                .activeThreads(ordered(activeThreads, start))
+                .poolSize(ordered(poolSize, start))
+                .connections(ordered(connections, start))
+                .requests(ordered(requests, start))
+                .queueWaitP50Micros(ordered(queueWaitP50Micros, start))
+                .queueWaitP99Micros(ordered(queueWaitP99Micros, start))
+                .queueWaitMaxMicros(ordered(queueWaitMaxMicros, start))
+                .busyPercent(ordered(busyPercent, start))
+                .build();
+    }
+
+    private long getConnectionCount() {
+        AbstractProtocol<?> protocol = getProtocol();
+        return protocol != null ? protocol.getConnectionCount() : 0;
+    }
+
+    private int getMaxConnections() {
+        AbstractProtocol<?> protocol = getProtocol();
+        return protocol != null ? protocol.getMaxConnections() : 0;
+    }
+
+    private AbstractProtocol<?> getProtocol() {
+        TomcatWebServer tomcatWebServer = (TomcatWebServer) webServerAppContext.getWebServer();
+        if (tomcatWebServer == null) {
+            return null;
+        }
+        ProtocolHandler protocolHandler = tomcatWebServer.getTomcat().getConnector().getProtocolHandler();
+        return protocolHandler instanceof AbstractProtocol ? (AbstractProtocol<?>) protocolHandler : null;
+    }
+
+    private long[] ordered(long[] ring, int start) {
+        long[] result = new long[sampleCount];
+        for (int i = 0; i < sampleCount; i++) {
+            result[i] = ring[(start + i) % ring.length];
+        }
+        return result;
+    }
+
+    private int[] ordered(int[] ring, int start) {
+        int[] result = new int[sampleCount];
+        for (int i = 0; i < sampleCount; i++) {
+            result[i] = ring[(start + i) % ring.length];
+        }
+        return result;
+    }
+
+    private double[] ordered(double[] ring, int start) {
+        double[] result = new double[sampleCount];
+        for (int i = 0; i < sampleCount; i++) {
+            result[i] = Math.round(ring[(start + i) % ring.length] * 10) / 10.0;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.serviceconsumer.resilience;
+
+import com.example.serviceconsumer.model.ConcurrencyLimitStats;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit derived from observed latency (gradient algorithm).
+ * 
+ * Latency samples are averaged over windows of windowSize requests (shortRtt)
+ * and tracked as a slow exponential average (longRtt, the "no queueing"
+ * baseline). After each window:
+ * 
+ *   gradient = clamp(rttTolerance * longRtt / shortRtt, 0.5, 1.0)
+ *   newLimit = limit * gradient + sqrt(limit)
+ * 
+ * When latency stays near the baseline the gradient is 1 and the limit grows
+ * by sqrt(limit) per window; when requests start queueing latency rises and the
+ * limit shrinks proportionally. The limit only grows while the in-flight count
+ * actually reaches it, so an idle service does not drift up to maxLimit.
+ * 
+ * Usage: {@link #tryAcquire()} before the request, then {@link #onSample} with
+ * the request's latency, or {@link #onIgnore()} if its latency says nothing
+ * about the service (e.g. it was rejected further down).
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double LONG_RTT_ALPHA = 0.05;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int windowSize;
+    private final double rttTolerance;
+    private final double smoothing;
+
+    private volatile int limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder acceptedRequests = new LongAdder();
+    private final LongAdder rejectedRequests = new LongAdder();
+
+    // Sampling window (guarded by this)
+    private long windowRttSumNanos;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private double shortRttNanos;
+    private double longRttNanos;
+    private long limitUpdates;
+
+    public AdaptiveConcurrencyLimiter(boolean enabled,
+                                      int initialLimit,
+                                      int minLimit,
+                                      int maxLimit,
+                                      int windowSize,
+                                      double rttTolerance,
+                                      double smoothing) {
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowSize = windowSize;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Current limit (a volatile read, no lock).
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Take an in-flight slot if the current limit allows it.
+     * 
+     * @return true if the request may proceed; the caller must then call
+     *         {@link #onSample} or {@link #onIgnore()} exactly once
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejectedRequests.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                acceptedRequests.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release the slot and feed the request's latency into the limit.
+     */
+    public void onSample(long rttNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+
+        synchronized (this) {
+            windowRttSumNanos += rttNanos;
+            windowSamples++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtCompletion);
+
+            if (windowSamples >= windowSize) {
+                updateLimit();
+            }
+        }
+    }
+
+    /**
+     * Release the slot without using the request's latency.
+     */
+    public void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    private void updateLimit() {
+        shortRttNanos = (double) windowRttSumNanos / windowSamples;
+        int maxInFlight = windowMaxInFlight;
+
+        windowRttSumNanos = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+
+        if (longRttNanos == 0) {
+            longRttNanos = shortRttNanos;
+        } else {
+            longRttNanos = longRttNanos * (1 - LONG_RTT_ALPHA) + shortRttNanos * LONG_RTT_ALPHA;
+        }
+
+        // After a sustained latency drop, pull the baseline down quickly instead of
+        // letting the limit grow on a stale, too-high baseline
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos = longRttNanos * 0.95;
+        }
+
+        int currentLimit = limit;
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRttNanos / shortRttNanos));
+        double newLimit = currentLimit * gradient + Math.sqrt(currentLimit);
+
+        // Application-limited: the limit was not the bottleneck, so there is no evidence it can grow
+        if (maxInFlight < currentLimit / 2) {
+            newLimit = Math.min(newLimit, currentLimit);
+        }
+
+        newLimit = currentLimit * (1 - smoothing) + newLimit * smoothing;
+        int updatedLimit = (int) Math.max(minLimit, Math.min(maxLimit, Math.round(newLimit)));
+
+        limitUpdates++;
+        if (updatedLimit != currentLimit) {
+            limit = updatedLimit;
+            log.debug("Concurrency limit {} -> {} (shortRtt={}ms, longRtt={}ms, gradient={})",
+                    currentLimit, updatedLimit,
+                    String.format("%.1f", shortRttNanos / 1_000_000),
+                    String.format("%.1f", longRttNanos / 1_000_000),
+                    String.format("%.2f", gradient));
+        }
+    }
+
+    public synchronized ConcurrencyLimitStats getStats() {
+        return ConcurrencyLimitStats.builder()
+                .enabled(enabled)
+                .limit(limit)
+                .minLimit(minLimit)
+                .maxLimit(maxLimit)
+                .inFlight(inFlight.get())
+                .acceptedRequests(acceptedRequests.sum())
+                .rejectedRequests(rejectedRequests.sum())
+                .shortRttMs(TimeUnit.NANOSECONDS.toMillis((long) shortRttNanos))
+                .longRttMs(TimeUnit.NANOSECONDS.toMillis((long) longRttNanos))
+                .limitUpdates(limitUpdates)
+                .build();
+    }
+}
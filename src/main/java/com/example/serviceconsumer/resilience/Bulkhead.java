@@ -0,0 +1,143 @@
+package com.example.serviceconsumer.resilience;
+
+import com.example.serviceconsumer.exception.BulkheadFullException;
+import com.example.serviceconsumer.model.BulkheadStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Thread-pool bulkhead isolating calls to a single dependency.
+ * 
+ * Calls run on a dedicated, bounded, named executor:
+ * - At most maxConcurrentCalls run at once
+ * - At most queueCapacity wait for a free thread
+ * - Anything beyond that is rejected immediately with {@link BulkheadFullException}
+ * 
+ * A hanging dependency can therefore hold at most maxConcurrentCalls + queueCapacity
+ * callers, instead of every Tomcat worker thread.
+ * 
+ * Rejections are logged as a summary at most once per second rather than one
+ * line each, since they come in floods exactly when the dependency is slow.
+ */
+@Slf4j
+public class Bulkhead {
+
+    private static final long REJECTION_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final int queueCapacity;
+    private final TaskDecorator taskDecorator;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder rejectedCalls = new LongAdder();
+    private final LongAdder rejectedSinceLog = new LongAdder();
+    private final AtomicLong lastRejectionLogNanos = new AtomicLong(System.nanoTime() - REJECTION_LOG_INTERVAL_NANOS);
+
+    public Bulkhead(String name, int maxConcurrentCalls, int queueCapacity, TaskDecorator taskDecorator) {
+        this(name, maxConcurrentCalls, queueCapacity, taskDecorator, new CustomizableThreadFactory(name + "-"));
+    }
+
+    public Bulkhead(String name, int maxConcurrentCalls, int queueCapacity, TaskDecorator taskDecorator,
+                    ThreadFactory threadFactory) {
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.queueCapacity = queueCapacity;
+        this.taskDecorator = taskDecorator;
+
+        BlockingQueue<Runnable> queue = queueCapacity > 0
+                ? new ArrayBlockingQueue<>(queueCapacity)
+                : new SynchronousQueue<>();
+
+        this.executor = new ThreadPoolExecutor(
+                maxConcurrentCalls, maxConcurrentCalls,
+                60L, TimeUnit.SECONDS,
+                queue,
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Run a call inside the bulkhead.
+     * 
+     * Never blocks the caller: if the bulkhead is full the returned future is
+     * already completed exceptionally with {@link BulkheadFullException}.
+     * 
+     * @param call The call to run on a bulkhead thread
+     * @return Future completed with the call's result or failure
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        Runnable task = taskDecorator.decorate(() -> {
+            if (future.isDone()) {
+                return; // Cancelled (e.g. timed out) while waiting in the queue
+            }
+            try {
+                future.complete(call.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+
+        try {
+            executor.execute(task);
+            // A call cancelled while still queued gives its queue slot back right away
+            future.whenComplete((result, ex) -> {
+                if (future.isCancelled()) {
+                    executor.remove(task);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCalls.increment();
+            logRejection();
+            future.completeExceptionally(new BulkheadFullException(name, maxConcurrentCalls, queueCapacity));
+        }
+
+        return future;
+    }
+
+    private void logRejection() {
+        rejectedSinceLog.increment();
+        long now = System.nanoTime();
+        long last = lastRejectionLogNanos.get();
+        if (now - last >= REJECTION_LOG_INTERVAL_NANOS && lastRejectionLogNanos.compareAndSet(last, now)) {
+            // Pool and queue sizes take the executor's locks, so they are only read for the summary
+            log.warn("Bulkhead '{}' full - rejected {} calls since the last report (active={}, queued={})",
+                    name, rejectedSinceLog.sumThenReset(), executor.getActiveCount(), executor.getQueue().size());
+        }
+    }
+
+    public BulkheadStats getStats() {
+        int activeCalls = executor.getActiveCount();
+        int queueDepth = executor.getQueue().size();
+
+        return BulkheadStats.builder()
+                .name(name)
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .activeCalls(activeCalls)
+                .queueDepth(queueDepth)
+                .queueCapacity(queueCapacity)
+                .rejectedCalls(rejectedCalls.sum())
+                .completedCalls(executor.getCompletedTaskCount())
+                .full(activeCalls >= maxConcurrentCalls && queueDepth >= queueCapacity)
+                .build();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,326 @@
+package com.example.serviceconsumer.resilience;
+
+import com.example.serviceconsumer.model.CircuitBreakerStats;
+import com.example.serviceconsumer.model.CircuitBreakerTransition;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Count-based circuit breaker protecting calls to a single dependency.
+ *
+ * States:
+ * - CLOSED: calls pass through; outcomes are recorded in a sliding window of the
+ *   last slidingWindowSize calls. Once minimumNumberOfCalls are recorded and the
+ *   failure rate or slow-call rate reaches its threshold, the breaker OPENs.
+ * - OPEN: calls are rejected immediately (a volatile read, no lock) until
+ *   waitDurationInOpenState has passed, then the breaker moves to HALF_OPEN.
+ * - HALF_OPEN: only permittedCallsInHalfOpenState probe calls are admitted. When
+ *   all probes have completed the breaker CLOSEs if they were healthy, otherwise
+ *   it OPENs again.
+ *
+ * Usage: {@link #tryAcquirePermission()} on the caller thread, then exactly one
+ * of {@link #onSuccess}/{@link #onError} with the returned permit and the call's
+ * duration, or {@link #releasePermission} if the call never ran or its outcome
+ * is ignored.
+ *
+ * The permit remembers whether it was a half-open probe, and of which half-open
+ * period. Only those permits count toward probe accounting: a slow call admitted
+ * while CLOSED that finishes after the breaker went HALF_OPEN must neither close
+ * the breaker while the real probes are still hanging nor free a probe slot.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /** Returned by {@link #tryAcquirePermission()} when the call must not be made. */
+    public static final long NOT_PERMITTED = -1L;
+
+    /** Permit for a call admitted outside HALF_OPEN; probe permits carry their transition generation. */
+    private static final long NORMAL_PERMIT = 0L;
+
+    private static final int MAX_RECENT_TRANSITIONS = 10;
+
+    private static final byte OUTCOME_FAILED = 1;
+    private static final byte OUTCOME_SLOW = 2;
+
+    private final String name;
+    private final int slidingWindowSize;
+    private final int minimumNumberOfCalls;
+    private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final long slowCallDurationThresholdNanos;
+    private final long waitDurationInOpenStateNanos;
+    private final int permittedCallsInHalfOpenState;
+
+    // Sliding window (guarded by this)
+    private final byte[] outcomes;
+    private int windowIndex;
+    private int bufferedCalls;
+    private int failedCalls;
+    private int slowCalls;
+
+    // Half-open probe accounting (guarded by this)
+    private int halfOpenCallsInFlight;
+    private int halfOpenCallsAdmitted;
+
+    private volatile State state = State.CLOSED;
+    private volatile long openUntilNanos;
+
+    private final AtomicLong notPermittedCalls = new AtomicLong();
+    private final AtomicLong transitionCount = new AtomicLong();
+    private final Deque<CircuitBreakerTransition> recentTransitions = new ArrayDeque<>();
+
+    public CircuitBreaker(String name,
+                          int slidingWindowSize,
+                          int minimumNumberOfCalls,
+                          float failureRateThreshold,
+                          float slowCallRateThreshold,
+                          long slowCallDurationThresholdMs,
+                          long waitDurationInOpenStateMs,
+                          int permittedCallsInHalfOpenState) {
+        this.name = name;
+        this.slidingWindowSize = slidingWindowSize;
+        this.minimumNumberOfCalls = Math.min(minimumNumberOfCalls, slidingWindowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallDurationThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowCallDurationThresholdMs);
+        this.waitDurationInOpenStateNanos = TimeUnit.MILLISECONDS.toNanos(waitDurationInOpenStateMs);
+        this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+        this.outcomes = new byte[slidingWindowSize];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Ask whether a call may be made now.
+     *
+     * While OPEN this is a volatile read plus a clock read, so rejected callers
+     * fail in microseconds instead of paying the dependency's timeout.
+     *
+     * @return {@link #NOT_PERMITTED} if the call must not be made, otherwise a
+     *         permit the caller must hand back with its outcome via
+     *         {@link #onSuccess}, {@link #onError} or {@link #releasePermission}
+     */
+    public long tryAcquirePermission() {
+        State current = state;
+
+        if (current == State.CLOSED) {
+            return NORMAL_PERMIT;
+        }
+
+        if (current == State.OPEN && System.nanoTime() - openUntilNanos < 0) {
+            notPermittedCalls.incrementAndGet();
+            return NOT_PERMITTED;
+        }
+
+        synchronized (this) {
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openUntilNanos < 0) {
+                    notPermittedCalls.incrementAndGet();
+                    return NOT_PERMITTED;
+                }
+                transitionTo(State.HALF_OPEN, "wait duration in open state elapsed");
+            }
+
+            if (state == State.CLOSED) {
+                return NORMAL_PERMIT;
+            }
+
+            // HALF_OPEN: admit a limited number of probes
+            if (halfOpenCallsAdmitted < permittedCallsInHalfOpenState) {
+                halfOpenCallsAdmitted++;
+                halfOpenCallsInFlight++;
+                return transitionCount.get();
+            }
+        }
+
+        notPermittedCalls.incrementAndGet();
+        return NOT_PERMITTED;
+    }
+
+    /**
+     * Whether the permit is a probe of the current half-open period (guarded by this).
+     * Each transition bumps transitionCount, so probes of an earlier half-open period never match.
+     */
+    private boolean isCurrentProbe(long permit) {
+        return permit != NORMAL_PERMIT && state == State.HALF_OPEN && permit == transitionCount.get();
+    }
+
+    /**
+     * Give back a permission for a call that never reached the dependency
+     * (e.g. rejected by the bulkhead), so it does not use up a half-open probe.
+     * Also used to ignore a call whose outcome says nothing about the
+     * dependency's health: cancelled, or cut short by the caller's deadline.
+     */
+    public synchronized void releasePermission(long permit) {
+        if (isCurrentProbe(permit) && halfOpenCallsInFlight > 0) {
+            halfOpenCallsInFlight--;
+            halfOpenCallsAdmitted--;
+        }
+    }
+
+    /**
+     * Record a successful call that was made with an acquired permission.
+     */
+    public void onSuccess(long permit, long durationNanos) {
+        onResult(permit, durationNanos, false);
+    }
+
+    /**
+     * Record a failed call that was made with an acquired permission.
+     */
+    public void onError(long permit, long durationNanos) {
+        onResult(permit, durationNanos, true);
+    }
+
+    private synchronized void onResult(long permit, long durationNanos, boolean failed) {
+        byte outcome = 0;
+        if (failed) {
+            outcome |= OUTCOME_FAILED;
+        }
+        if (durationNanos >= slowCallDurationThresholdNanos) {
+            outcome |= OUTCOME_SLOW;
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (!isCurrentProbe(permit)) {
+                // Admitted before this half-open period began: says nothing about the probes
+                return;
+            }
+            record(outcome);
+            if (halfOpenCallsInFlight > 0) {
+                halfOpenCallsInFlight--;
+            }
+            if (failed || (outcome & OUTCOME_SLOW) != 0) {
+                // A single bad probe is enough evidence that the dependency is still sick
+                transitionTo(State.OPEN, failed ? "half-open probe failed" : "half-open probe was slow");
+            } else if (halfOpenCallsInFlight == 0 && halfOpenCallsAdmitted >= permittedCallsInHalfOpenState) {
+                transitionTo(State.CLOSED, "all half-open probes succeeded");
+            }
+            return;
+        }
+
+        record(outcome);
+
+        if (state == State.CLOSED && bufferedCalls >= minimumNumberOfCalls) {
+            float failureRate = failureRate();
+            float slowCallRate = slowCallRate();
+            if (failureRate >= failureRateThreshold) {
+                transitionTo(State.OPEN, String.format("failure rate %.1f%% >= %.1f%%",
+                        failureRate, failureRateThreshold));
+            } else if (slowCallRate >= slowCallRateThreshold) {
+                transitionTo(State.OPEN, String.format("slow call rate %.1f%% >= %.1f%%",
+                        slowCallRate, slowCallRateThreshold));
+            }
+        }
+    }
+
+    private void record(byte outcome) {
+        if (bufferedCalls == slidingWindowSize) {
+            byte evicted = outcomes[windowIndex];
+            if ((evicted & OUTCOME_FAILED) != 0) {
+                failedCalls--;
+            }
+            if ((evicted & OUTCOME_SLOW) != 0) {
+                slowCalls--;
+            }
+        } else {
+            bufferedCalls++;
+        }
+
+        outcomes[windowIndex] = outcome;
+        windowIndex = (windowIndex + 1) % slidingWindowSize;
+
+        if ((outcome & OUTCOME_FAILED) != 0) {
+            failedCalls++;
+        }
+        if ((outcome & OUTCOME_SLOW) != 0) {
+            slowCalls++;
+        }
+    }
+
+    private void transitionTo(State newState, String reason) {
+        State oldState = state;
+        if (oldState == newState) {
+            return;
+        }
+
+        // Every state starts with a fresh window and fresh probe accounting
+        windowIndex = 0;
+        bufferedCalls = 0;
+        failedCalls = 0;
+        slowCalls = 0;
+        halfOpenCallsInFlight = 0;
+        halfOpenCallsAdmitted = 0;
+
+        if (newState == State.OPEN) {
+            openUntilNanos = System.nanoTime() + waitDurationInOpenStateNanos;
+        }
+        state = newState;
+        transitionCount.incrementAndGet();
+
+        synchronized (recentTransitions) {
+            if (recentTransitions.size() == MAX_RECENT_TRANSITIONS) {
+                recentTransitions.removeFirst();
+            }
+            recentTransitions.addLast(CircuitBreakerTransition.builder()
+                    .fromState(oldState.name())
+                    .toState(newState.name())
+                    .reason(reason)
+                    .timestamp(LocalDateTime.now())
+                    .build());
+        }
+
+        if (newState == State.OPEN) {
+            log.warn("Circuit breaker '{}' {} -> {} ({})", name, oldState, newState, reason);
+        } else {
+            log.info("Circuit breaker '{}' {} -> {} ({})", name, oldState, newState, reason);
+        }
+    }
+
+    private float failureRate() {
+        return bufferedCalls == 0 ? 0f : failedCalls * 100f / bufferedCalls;
+    }
+
+    private float slowCallRate() {
+        return bufferedCalls == 0 ? 0f : slowCalls * 100f / bufferedCalls;
+    }
+
+    public CircuitBreakerStats getStats() {
+        List<CircuitBreakerTransition> transitions;
+        synchronized (recentTransitions) {
+            transitions = new ArrayList<>(recentTransitions);
+        }
+
+        synchronized (this) {
+            return CircuitBreakerStats.builder()
+                    .name(name)
+                    .state(state.name())
+                    .failureRate(failureRate())
+                    .slowCallRate(slowCallRate())
+                    .bufferedCalls(bufferedCalls)
+                    .failedCalls(failedCalls)
+                    .slowCalls(slowCalls)
+                    .notPermittedCalls(notPermittedCalls.get())
+                    .transitionCount(transitionCount.get())
+                    .recentTransitions(transitions)
+                    .build();
+        }
+    }
+}
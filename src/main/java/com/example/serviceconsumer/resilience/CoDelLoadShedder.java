@@ -0,0 +1,151 @@
+package com.example.serviceconsumer.resilience;
+
+import com.example.serviceconsumer.model.LoadSheddingStats;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load shedding driven by how long requests sat in the worker queue (CoDel).
+ * 
+ * Each request reports its sojourn time: the time from being handed to the
+ * Tomcat worker pool until it reached the servlet filters. A short burst is a
+ * "good queue" that drains by itself; a queue whose minimum sojourn stays
+ * above target for a whole interval is a standing queue that only adds delay.
+ * 
+ * - Normal: every request is admitted. The minimum sojourn is tracked per interval.
+ * - Overloaded: entered when an interval's minimum sojourn is above target.
+ *   Requests are shed according to the policy. Overload ends as soon as a
+ *   request arrives with a sojourn below target, or an interval's minimum
+ *   drops below target.
+ * 
+ * Policies while overloaded:
+ * - OLDEST: shed requests that waited longer than target. Their clients have
+ *   most likely given up, and the queue drains quickly.
+ * - NEWEST: shed requests that joined the queue after overload began. Requests
+ *   that were already waiting are still served.
+ * 
+ * Usage: {@link #tryAdmit(long)} with the request's sojourn time; a rejected
+ * request should be answered immediately without doing any work.
+ */
+@Slf4j
+public class CoDelLoadShedder {
+
+    public enum Policy {
+        OLDEST, NEWEST
+    }
+
+    private final boolean enabled;
+    private final long targetNanos;
+    private final long intervalNanos;
+    private final Policy policy;
+
+    private final LongAdder admittedRequests = new LongAdder();
+    private final LongAdder shedRequests = new LongAdder();
+
+    private volatile boolean overloaded;
+    private volatile long overloadedSinceNanos;
+    private volatile long lastSojournNanos;
+    private volatile long sojournEstimateNanos;
+
+    // Current interval (guarded by this)
+    private long intervalEndNanos;
+    private long intervalMinSojournNanos = Long.MAX_VALUE;
+    private long overloadEpisodes;
+
+    public CoDelLoadShedder(boolean enabled, long targetMs, long intervalMs, Policy policy) {
+        this.enabled = enabled;
+        this.targetNanos = TimeUnit.MILLISECONDS.toNanos(targetMs);
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+        this.policy = policy;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Decide whether a request that waited sojournNanos in the queue is served.
+     * 
+     * @return true to serve the request, false to shed it
+     */
+    public boolean tryAdmit(long sojournNanos) {
+        long now = System.nanoTime();
+        lastSojournNanos = sojournNanos;
+
+        if (observe(sojournNanos, now) && shouldShed(sojournNanos, now)) {
+            shedRequests.increment();
+            return false;
+        }
+        admittedRequests.increment();
+        return true;
+    }
+
+    private synchronized boolean observe(long sojournNanos, long now) {
+        if (intervalEndNanos == 0) {
+            intervalEndNanos = now + intervalNanos;
+        }
+
+        // Recorded before rolling, so an interval in which every worker was stuck still
+        // counts the first request that finally got through
+        intervalMinSojournNanos = Math.min(intervalMinSojournNanos, sojournNanos);
+
+        if (now - intervalEndNanos >= 0) {
+            long intervalMin = intervalMinSojournNanos;
+            sojournEstimateNanos = intervalMin;
+            intervalMinSojournNanos = Long.MAX_VALUE;
+            intervalEndNanos = now + intervalNanos;
+
+            if (intervalMin > targetNanos) {
+                if (!overloaded) {
+                    overloadedSinceNanos = now;
+                    overloaded = true;
+                    overloadEpisodes++;
+                    log.warn("Load shedding started: minimum queue sojourn {}ms > target {}ms (policy={})",
+                            TimeUnit.NANOSECONDS.toMillis(intervalMin), TimeUnit.NANOSECONDS.toMillis(targetNanos),
+                            policy);
+                }
+                return true;
+            }
+        }
+
+        if (overloaded && sojournNanos < targetNanos) {
+            overloaded = false;
+            log.info("Load shedding stopped: queue sojourn {}ms < target {}ms",
+                    TimeUnit.NANOSECONDS.toMillis(sojournNanos), TimeUnit.NANOSECONDS.toMillis(targetNanos));
+        }
+        return overloaded;
+    }
+
+    private boolean shouldShed(long sojournNanos, long now) {
+        if (policy == Policy.NEWEST) {
+            long queuedAtNanos = now - sojournNanos;
+            return queuedAtNanos - overloadedSinceNanos >= 0;
+        }
+        return sojournNanos > targetNanos;
+    }
+
+    public LoadSheddingStats getStats() {
+        long admitted = admittedRequests.sum();
+        long shed = shedRequests.sum();
+        long episodes;
+        synchronized (this) {
+            episodes = overloadEpisodes;
+        }
+
+        return LoadSheddingStats.builder()
+                .enabled(enabled)
+                .policy(policy.name())
+                .targetMs(TimeUnit.NANOSECONDS.toMillis(targetNanos))
+                .intervalMs(TimeUnit.NANOSECONDS.toMillis(intervalNanos))
+                .overloaded(overloaded)
+                .sojournEstimateMs(TimeUnit.NANOSECONDS.toMicros(sojournEstimateNanos) / 1000.0)
+                .lastSojournMs(TimeUnit.NANOSECONDS.toMicros(lastSojournNanos) / 1000.0)
+                .admittedRequests(admitted)
+                .shedRequests(shed)
+                .shedRatio(admitted + shed == 0 ? 0.0 : (double) shed / (admitted + shed))
+                .overloadEpisodes(episodes)
+                .build();
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.serviceconsumer.resilience;
+
+import com.example.serviceconsumer.concurrent.MdcTaskDecorator;
+import com.example.serviceconsumer.model.HedgingStats;
+import com.example.serviceconsumer.monitor.RollingLatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Hedged requests: if a call has not completed after the hedge delay, a second
+ * identical call is started; the first successful response wins and the other
+ * attempt is cancelled.
+ * 
+ * The hedge delay is either fixed (delayMs > 0) or the tracked latency
+ * percentile of recent calls (e.g. p95), so only the slowest ~5% of calls are
+ * hedged. Until minSamples calls have been observed, no hedges are sent.
+ * 
+ * Hedges are paid for from a budget: every call earns maxExtraLoad tokens
+ * (e.g. 0.05) and a hedge costs one, so hedges never add more than that
+ * fraction of extra load - even when every call is slow because the
+ * dependency is down, which is exactly when hedging must not amplify load.
+ */
+@Slf4j
+public class Hedger {
+
+    private static final long BUDGET_SCALE = 1000;
+    private static final long MAX_BUDGET_TOKENS = 10;
+    private static final int LATENCY_WINDOW_COUNT = 10;
+
+    private final boolean enabled;
+    private final long fixedDelayNanos;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final int minSamples;
+    private final long budgetPerCall;
+    private final ScheduledExecutorService scheduler;
+    private final MdcTaskDecorator mdcTaskDecorator = new MdcTaskDecorator();
+
+    private final RollingLatencyHistogram latencies;
+    private volatile long trackedDelayNanos;
+
+    // Scaled by BUDGET_SCALE
+    private final AtomicLong budget = new AtomicLong();
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hedgesSent = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+    private final LongAdder hedgesSkippedNoBudget = new LongAdder();
+
+    public Hedger(boolean enabled,
+                  long delayMs,
+                  double percentile,
+                  long minDelayMs,
+                  int minSamples,
+                  double maxExtraLoad,
+                  ScheduledExecutorService scheduler) {
+        this.enabled = enabled;
+        this.fixedDelayNanos = TimeUnit.MILLISECONDS.toNanos(delayMs);
+        this.percentile = percentile;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMs);
+        this.minSamples = minSamples;
+        this.budgetPerCall = Math.round(maxExtraLoad * BUDGET_SCALE);
+        this.scheduler = scheduler;
+        this.latencies = new RollingLatencyHistogram(TimeUnit.MINUTES.toNanos(1), 2, LATENCY_WINDOW_COUNT);
+    }
+
+    /**
+     * Run a call, hedging it if it is slower than the hedge delay.
+     * 
+     * @param attempt Starts one attempt of the call; invoked once, or twice if hedged
+     * @return Future completed with the first successful result, or with the
+     *         last failure if every attempt failed
+     */
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> attempt) {
+        if (!enabled) {
+            return attempt.get();
+        }
+
+        calls.increment();
+        earnBudget();
+
+        HedgedCall<T> call = new HedgedCall<>();
+        call.primary = startAttempt(call, attempt, false);
+
+        long delayNanos = getDelayNanos();
+        if (delayNanos > 0 && !call.result.isDone()) {
+            call.timer = scheduler.schedule(mdcTaskDecorator.decorate(() -> hedge(call, attempt)),
+                    delayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        call.result.whenComplete((value, ex) -> {
+            if (call.timer != null) {
+                call.timer.cancel(false);
+            }
+            // Cancel the losing attempt (or both, if the caller cancelled)
+            cancel(call.primary);
+            cancel(call.hedge);
+        });
+
+        return call.result;
+    }
+
+    /**
+     * Recompute the tracked hedge delay from recent latencies and roll the window.
+     */
+    public void updateDelay() {
+        long value = latencies.getValueAtPercentile(percentile, minSamples);
+        trackedDelayNanos = value == 0 ? 0 : Math.max(value, minDelayNanos);
+        latencies.roll();
+    }
+
+    private long getDelayNanos() {
+        return fixedDelayNanos > 0 ? fixedDelayNanos : trackedDelayNanos;
+    }
+
+    private <T> void hedge(HedgedCall<T> call, Supplier<CompletableFuture<T>> attempt) {
+        synchronized (call) {
+            if (call.result.isDone()) {
+                return;
+            }
+            if (!spendBudget()) {
+                hedgesSkippedNoBudget.increment();
+                return;
+            }
+            call.pending++;
+        }
+
+        hedgesSent.increment();
+        log.debug("Call slower than {}ms - sending hedged request", TimeUnit.NANOSECONDS.toMillis(getDelayNanos()));
+        call.hedge = startAttempt(call, attempt, true);
+        if (call.result.isDone()) {
+            cancel(call.hedge);
+        }
+    }
+
+    private <T> CompletableFuture<T> startAttempt(HedgedCall<T> call, Supplier<CompletableFuture<T>> attempt,
+                                                  boolean isHedge) {
+        long startTime = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = attempt.get();
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+
+        future.whenComplete((value, ex) -> {
+            if (ex == null) {
+                latencies.record(System.nanoTime() - startTime);
+                if (call.result.complete(value) && isHedge) {
+                    hedgesWon.increment();
+                }
+                return;
+            }
+
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            synchronized (call) {
+                call.pending--;
+                if (call.pending > 0) {
+                    return; // The other attempt may still succeed
+                }
+                call.result.completeExceptionally(cause);
+            }
+        });
+
+        return future;
+    }
+
+    private void earnBudget() {
+        long max = MAX_BUDGET_TOKENS * BUDGET_SCALE;
+        budget.getAndUpdate(current -> Math.min(max, current + budgetPerCall));
+    }
+
+    private boolean spendBudget() {
+        while (true) {
+            long current = budget.get();
+            if (current < BUDGET_SCALE) {
+                return false;
+            }
+            if (budget.compareAndSet(current, current - BUDGET_SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    private static void cancel(CompletableFuture<?> future) {
+        if (future != null && !future.isDone()) {
+            future.cancel(true);
+        }
+    }
+
+    public HedgingStats getStats() {
+        long callCount = calls.sum();
+        long sent = hedgesSent.sum();
+
+        return HedgingStats.builder()
+                .enabled(enabled)
+                .delayMs(TimeUnit.NANOSECONDS.toMillis(getDelayNanos()))
+                .delaySource(fixedDelayNanos > 0 ? "fixed" : "p" + formatPercentile())
+                .calls(callCount)
+                .hedgesSent(sent)
+                .hedgesWon(hedgesWon.sum())
+                .hedgesSkippedNoBudget(hedgesSkippedNoBudget.sum())
+                .extraLoadRatio(callCount == 0 ? 0.0 : (double) sent / callCount)
+                .build();
+    }
+
+    private String formatPercentile() {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    private static final class HedgedCall<T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private volatile CompletableFuture<T> primary;
+        private volatile CompletableFuture<T> hedge;
+        private volatile ScheduledFuture<?> timer;
+        private int pending = 1; // guarded by this
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.serviceconsumer.resilience;
+
+import com.example.serviceconsumer.concurrent.MdcTaskDecorator;
+import com.example.serviceconsumer.concurrent.RequestDeadline;
+import com.example.serviceconsumer.model.RetryStats;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.ConnectionClosedException;
+import org.apache.http.NoHttpResponseException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.io.InterruptedIOException;
+import java.net.SocketException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Retries for idempotent calls, with decorrelated-jitter backoff and a retry
+ * budget shared by all callers.
+ *
+ * A failed attempt is retried (up to maxAttempts attempts in total) only if:
+ * - It failed in a way another attempt can fix: a connection-level I/O error
+ *   (refused, reset or closed before a response), or one of the retryable
+ *   HTTP statuses (e.g. 503). Other I/O errors, such as a malformed body
+ *   failing to parse, would fail the same way again.
+ *   Timeouts only with retryOnTimeout, since more calls do not help a slow
+ *   dependency; local rejections (circuit open, bulkhead full) and deadline
+ *   failures never
+ * - The backoff fits in the request's remaining deadline
+ * - The budget has a token left: every call earns budgetRatio tokens (e.g.
+ *   0.1) and a retry costs one, so retries never add more than that fraction
+ *   of extra load - even during an outage, when every call fails and naive
+ *   retries would multiply the load on the dependency
+ *
+ * Backoff is decorrelated jitter: each delay is random between baseDelay and
+ * three times the previous delay, capped at maxDelay, so callers that failed
+ * together do not retry together.
+ */
+@Slf4j
+public class Retrier {
+
+    private static final long BUDGET_SCALE = 1000;
+    private static final long MAX_BUDGET_TOKENS = 10;
+
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final Set<Integer> retryableStatuses;
+    private final boolean retryOnTimeout;
+    private final long budgetPerCall;
+    private final ScheduledExecutorService scheduler;
+    private final MdcTaskDecorator mdcTaskDecorator = new MdcTaskDecorator();
+
+    // Scaled by BUDGET_SCALE
+    private final AtomicLong budget = new AtomicLong();
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder retriedSuccesses = new LongAdder();
+    private final LongAdder exhaustedCalls = new LongAdder();
+    private final LongAdder retriesSkippedNoBudget = new LongAdder();
+    private final LongAdder retriesSkippedDeadline = new LongAdder();
+
+    public Retrier(boolean enabled,
+                   int maxAttempts,
+                   long baseDelayMs,
+                   long maxDelayMs,
+                   Set<Integer> retryableStatuses,
+                   boolean retryOnTimeout,
+                   double budgetRatio,
+                   ScheduledExecutorService scheduler) {
+        this.enabled = enabled;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayMs = Math.max(1, baseDelayMs);
+        this.maxDelayMs = Math.max(this.baseDelayMs, maxDelayMs);
+        this.retryableStatuses = retryableStatuses;
+        this.retryOnTimeout = retryOnTimeout;
+        this.budgetPerCall = Math.round(budgetRatio * BUDGET_SCALE);
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Run a call, retrying failed attempts while the rules above allow it.
+     *
+     * Must be called on the request's thread: retries run with its MDC and
+     * within its deadline.
+     *
+     * @param attempt Starts one attempt of the call; invoked once per attempt
+     * @return Future completed with the first successful result, or with the
+     *         last attempt's failure. Cancelling it cancels the running attempt
+     *         or pending retry.
+     */
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> attempt) {
+        if (!enabled) {
+            return attempt.get();
+        }
+
+        calls.increment();
+        earnBudget();
+
+        RetriedCall<T> call = new RetriedCall<>(attempt, RequestDeadline.remainingMillis());
+        // Decorated now, so every retry runs with this request's MDC (and deadline) on the scheduler thread
+        call.retryTask = mdcTaskDecorator.decorate(() -> {
+            log.debug("Retrying SlowDependency call (attempt {}/{}) after {}ms: {}",
+                    call.attempts, maxAttempts, call.delayMs, call.lastFailure.getMessage());
+            startAttempt(call);
+        });
+
+        startAttempt(call);
+
+        call.result.whenComplete((value, ex) -> {
+            ScheduledFuture<?> timer = call.timer;
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            cancel(call.current);
+        });
+
+        return call.result;
+    }
+
+    private <T> void startAttempt(RetriedCall<T> call) {
+        CompletableFuture<T> future;
+        try {
+            future = call.attempt.get();
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+
+        call.current = future;
+        if (call.result.isDone()) {
+            cancel(future);
+            return;
+        }
+
+        future.whenComplete((value, ex) -> {
+            if (ex == null) {
+                if (call.result.complete(value) && call.attempts > 1) {
+                    retriedSuccesses.increment();
+                }
+            } else {
+                onFailure(call, ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+            }
+        });
+    }
+
+    private <T> void onFailure(RetriedCall<T> call, Throwable cause) {
+        if (call.result.isDone()) {
+            return;
+        }
+        if (!isRetryable(cause)) {
+            call.result.completeExceptionally(cause);
+            return;
+        }
+        if (call.attempts >= maxAttempts) {
+            exhaustedCalls.increment();
+            call.result.completeExceptionally(cause);
+            return;
+        }
+
+        long delayMs = nextDelayMs(call.delayMs);
+        if (delayMs >= call.remainingMillis()) {
+            retriesSkippedDeadline.increment();
+            call.result.completeExceptionally(cause);
+            return;
+        }
+        if (!spendBudget()) {
+            retriesSkippedNoBudget.increment();
+            log.debug("Retry budget exhausted - not retrying SlowDependency call: {}", cause.getMessage());
+            call.result.completeExceptionally(cause);
+            return;
+        }
+
+        retries.increment();
+        call.attempts++;
+        call.delayMs = delayMs;
+        call.lastFailure = cause;
+        call.timer = scheduler.schedule(call.retryTask, delayMs, TimeUnit.MILLISECONDS);
+        if (call.result.isDone()) {
+            call.timer.cancel(false);
+        }
+    }
+
+    private boolean isRetryable(Throwable cause) {
+        if (cause instanceof RestClientResponseException) {
+            return retryableStatuses.contains(((RestClientResponseException) cause).getRawStatusCode());
+        }
+        if (cause instanceof ResourceAccessException) {
+            Throwable io = cause.getCause();
+            if (io instanceof InterruptedIOException) {
+                // Read, connect and pool lease timeouts
+                return retryOnTimeout;
+            }
+            // SocketException covers refused (ConnectException, HttpHostConnectException) and reset connections
+            return io instanceof SocketException
+                    || io instanceof NoHttpResponseException
+                    || io instanceof ConnectionClosedException;
+        }
+        return false;
+    }
+
+    /**
+     * Decorrelated jitter: random between baseDelay and 3x the previous delay, capped at maxDelay.
+     */
+    private long nextDelayMs(long previousDelayMs) {
+        long upper = Math.min(maxDelayMs, Math.max(baseDelayMs, previousDelayMs * 3));
+        return ThreadLocalRandom.current().nextLong(baseDelayMs, upper + 1);
+    }
+
+    private void earnBudget() {
+        long max = MAX_BUDGET_TOKENS * BUDGET_SCALE;
+        budget.getAndUpdate(current -> Math.min(max, current + budgetPerCall));
+    }
+
+    private boolean spendBudget() {
+        while (true) {
+            long current = budget.get();
+            if (current < BUDGET_SCALE) {
+                return false;
+            }
+            if (budget.compareAndSet(current, current - BUDGET_SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    private static void cancel(CompletableFuture<?> future) {
+        if (future != null && !future.isDone()) {
+            future.cancel(true);
+        }
+    }
+
+    public RetryStats getStats() {
+        long callCount = calls.sum();
+        long retryCount = retries.sum();
+
+        return RetryStats.builder()
+                .enabled(enabled)
+                .maxAttempts(maxAttempts)
+                .calls(callCount)
+                .retries(retryCount)
+                .retriedSuccesses(retriedSuccesses.sum())
+                .exhaustedCalls(exhaustedCalls.sum())
+                .retriesSkippedNoBudget(retriesSkippedNoBudget.sum())
+                .retriesSkippedDeadline(retriesSkippedDeadline.sum())
+                .budgetTokens((double) budget.get() / BUDGET_SCALE)
+                .retryRatio(callCount == 0 ? 0.0 : (double) retryCount / callCount)
+                .build();
+    }
+
+    private static final class RetriedCall<T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final Supplier<CompletableFuture<T>> attempt;
+        private final long deadlineNanos;
+        private volatile Runnable retryTask;
+        private volatile CompletableFuture<T> current;
+        private volatile ScheduledFuture<?> timer;
+        // Attempts run one after another, so these are only written by one thread at a time
+        private volatile int attempts = 1;
+        private volatile long delayMs;
+        private volatile Throwable lastFailure;
+
+        private RetriedCall(Supplier<CompletableFuture<T>> attempt, long remainingMillis) {
+            this.attempt = attempt;
+            this.deadlineNanos = remainingMillis == RequestDeadline.NONE ? Long.MAX_VALUE
+                    : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(remainingMillis);
+        }
+
+        private long remainingMillis() {
+            return deadlineNanos == Long.MAX_VALUE ? RequestDeadline.NONE
+                    : TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+        }
+    }
+}
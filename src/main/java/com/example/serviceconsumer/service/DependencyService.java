@@ -1,13 +1,48 @@
 package com.example.serviceconsumer.service;
 
+import com.example.serviceconsumer.cache.ResponseCache;
+import com.example.serviceconsumer.client.DeadlineAwareRequestFactory;
+import com.example.serviceconsumer.client.JsonFieldExtractor;
+import com.example.serviceconsumer.client.NioDependencyClient;
+import com.example.serviceconsumer.concurrent.MdcTaskDecorator;
+import com.example.serviceconsumer.concurrent.RequestDeadline;
+import com.example.serviceconsumer.concurrent.SingleFlight;
+import com.example.serviceconsumer.exception.CircuitBreakerOpenException;
+import com.example.serviceconsumer.exception.DeadlineExceededException;
+import com.example.serviceconsumer.exception.DependencyRejectedException;
+import com.example.serviceconsumer.exception.InvalidBatchRequestException;
+import com.example.serviceconsumer.model.ApiResponse;
+import com.example.serviceconsumer.resilience.Bulkhead;
+import com.example.serviceconsumer.resilience.CircuitBreaker;
+import com.example.serviceconsumer.resilience.Hedger;
+import com.example.serviceconsumer.resilience.Retrier;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
-import java.util.Map;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Service layer for calling SlowDependency.
@@ -17,9 +52,25 @@ import java.util.Map;
  * 
  * Key behaviors:
  * - Logs all calls with timing information
- * - Uses RestTemplate (blocking/synchronous)
+ * - Uses RestTemplate (blocking/synchronous) by default, or the non-blocking
+ *   NIO client when dependency.client.mode=nio
  * - Waits for configured timeout (3 seconds) when dependency hangs
- * - Each call blocks a Tomcat worker thread during the wait
+ * - Runs every blocking call inside the dependency bulkhead, so at most
+ *   maxConcurrentCalls + queueCapacity callers can be stuck on it;
+ *   the rest are rejected immediately
+ * - Guards every call with a circuit breaker, so once SlowDependency is
+ *   known to be failing, calls fail in microseconds instead of seconds
+ * - Serves responses from a TTL cache when possible (stale-while-revalidate,
+ *   stale-if-error), so most requests never reach SlowDependency
+ * - Coalesces concurrent cache misses for the same URL into one outbound call
+ * - Hedges calls slower than the tracked p95 with a second request, within a
+ *   small extra-load budget
+ * - Retries calls that failed on a dropped connection or a 502/503/504, with
+ *   jittered backoff, within the deadline and a shared retry budget
+ * - Bounds every wait by the request's end-to-end deadline, and does not start
+ *   calls (or run queued ones) once the deadline has passed
+ * - Fans batches of item keys out in parallel, at most
+ *   dependency.batch.max-concurrency calls at a time per batch
  */
 @Slf4j
 @Service
@@ -28,46 +79,475 @@ public class DependencyService {
     @Value("${dependency.service.url}")
     private String dependencyServiceUrl;
 
+    @Value("${dependency.batch.max-items}")
+    private int batchMaxItems;
+
+    @Value("${dependency.batch.max-concurrency}")
+    private int batchMaxConcurrency;
+
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private Bulkhead dependencyBulkhead;
+
+    @Autowired
+    private CircuitBreaker dependencyCircuitBreaker;
+
+    @Autowired(required = false)
+    private NioDependencyClient nioDependencyClient;
+
+    @Autowired
+    private ResponseCache<String, String> dependencyResponseCache;
+
+    @Autowired
+    private SingleFlight<String, String> dependencySingleFlight;
+
+    @Autowired
+    private Hedger dependencyHedger;
+
+    @Autowired
+    private Retrier dependencyRetrier;
+
+    @Autowired
+    @Qualifier("requestDeadlineScheduler")
+    private ScheduledExecutorService requestDeadlineScheduler;
+
+    @Autowired
+    private JsonFieldExtractor dependencyMessageExtractor;
+
+    private final MdcTaskDecorator mdcTaskDecorator = new MdcTaskDecorator();
+
     /**
      * Fetch data from SlowDependency service.
      * 
      * This is a BLOCKING call that will wait up to 3 seconds (read timeout)
      * for a response. If SlowDependency hangs, this thread will be blocked
-     * for the entire timeout period.
+     * for the entire timeout period - unless the circuit breaker is open or
+     * the bulkhead is full, in which case the call is rejected immediately.
+     * If the request has a deadline, the thread waits no longer than the
+     * remaining budget.
      * 
      * @return Data from SlowDependency
      * @throws RestClientException if call fails or times out
+     * @throws com.example.serviceconsumer.exception.DependencyRejectedException if the
+     *         circuit breaker or the bulkhead rejects the call
+     * @throws DeadlineExceededException if the request's deadline passes first
      */
     public String fetchDataFromDependency() {
-        long startTime = System.currentTimeMillis();
+        CompletableFuture<String> future = fetchDataFromDependencyAsync();
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for SlowDependency", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Fetch data from SlowDependency without blocking the caller.
+     * 
+     * In blocking client mode the RestTemplate call runs on the dependency
+     * bulkhead; in NIO mode it is multiplexed on the NIO client's I/O threads.
+     * Either way the calling Tomcat worker thread is free to serve other
+     * requests while SlowDependency is slow or hanging. Cached responses are
+     * returned as an already completed future.
+     * 
+     * If the request has a deadline, the future fails with a
+     * DeadlineExceededException as soon as it passes. The dependency call itself
+     * is not cancelled, since other requests may share it. Its timeouts are
+     * clamped to the deadline of the request that started it, so it ends by then.
+     * A coalesced call runs under the deadline of the request that started it;
+     * if that deadline runs out while this request still has budget left, the
+     * call is made once more under this request's own deadline.
+     * 
+     * @return Future completed with the data, or exceptionally with the
+     *         RestClientException raised by the call, a DependencyRejectedException
+     *         or a DeadlineExceededException
+     */
+    public CompletableFuture<String> fetchDataFromDependencyAsync() {
+        return fetchDataFromDependencyAsync(dependencyServiceUrl);
+    }
+
+    /**
+     * Fetch one item per key from SlowDependency, blocking until every item has
+     * an outcome. See {@link #fetchBatchAsync(List)}.
+     * 
+     * @throws InvalidBatchRequestException if there are no keys or more than
+     *         dependency.batch.max-items
+     */
+    public List<ApiResponse> fetchBatch(List<String> keys) {
+        CompletableFuture<List<ApiResponse>> future = fetchBatchAsync(keys);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for SlowDependency", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Fetch one item per key from SlowDependency ({@code <dependency.service.url>?key=<key>}),
+     * at most dependency.batch.max-concurrency calls at a time.
+     * 
+     * Each item goes through the same path as a single request (cache,
+     * coalescing, hedging, circuit breaker, bulkhead), so duplicate keys share
+     * one call. The request's deadline bounds the whole batch: items still
+     * running when it passes fail with "Request deadline exceeded", and items
+     * not yet started fail without being sent. Other items are unaffected.
+     * 
+     * @return Future completed with one ApiResponse per key, in the order of the
+     *         keys, each with status "success" and the data or "error" and the
+     *         reason; it never completes exceptionally. Cancelling it cancels the
+     *         calls still running.
+     * @throws InvalidBatchRequestException if there are no keys or more than
+     *         dependency.batch.max-items
+     */
+    public CompletableFuture<List<ApiResponse>> fetchBatchAsync(List<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            throw new InvalidBatchRequestException("A batch needs at least one key");
+        }
+        if (keys.size() > batchMaxItems) {
+            throw new InvalidBatchRequestException(
+                    "A batch takes at most " + batchMaxItems + " keys, got " + keys.size());
+        }
+
+        int size = keys.size();
+        ApiResponse[] items = new ApiResponse[size];
+        AtomicReferenceArray<CompletableFuture<String>> calls = new AtomicReferenceArray<>(size);
+        AtomicInteger nextIndex = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(size);
+        CompletableFuture<List<ApiResponse>> result = new CompletableFuture<>();
+
+        // Every finished item starts the next one, so at most batchMaxConcurrency are in flight.
+        // Decorated now, so items started from a completing call's thread keep this request's MDC
+        Runnable[] startNext = new Runnable[1];
+        startNext[0] = mdcTaskDecorator.decorate(() -> {
+            int index = nextIndex.getAndIncrement();
+            if (index >= size || result.isDone()) {
+                return;
+            }
+            long startTime = System.currentTimeMillis();
+            CompletableFuture<String> call = fetchDataFromDependencyAsync(itemUrl(keys.get(index)));
+            calls.set(index, call);
+            call.whenComplete((data, ex) -> {
+                items[index] = batchItem(data, ex, System.currentTimeMillis() - startTime);
+                if (remaining.decrementAndGet() == 0) {
+                    result.complete(Arrays.asList(items));
+                } else {
+                    startNext[0].run();
+                }
+            });
+        });
+
+        result.whenComplete((data, ex) -> {
+            if (result.isCancelled()) {
+                for (int i = 0; i < size; i++) {
+                    CompletableFuture<String> call = calls.get(i);
+                    if (call != null) {
+                        call.cancel(true);
+                    }
+                }
+            }
+        });
+
+        log.debug("Fetching batch of {} items from SlowDependency, {} at a time",
+                size, Math.min(size, batchMaxConcurrency));
+        for (int i = 0; i < Math.min(size, batchMaxConcurrency); i++) {
+            startNext[0].run();
+        }
+        return result;
+    }
+
+    private String itemUrl(String key) {
+        return UriComponentsBuilder.fromHttpUrl(dependencyServiceUrl)
+                .queryParam("key", key)
+                .build()
+                .encode()
+                .toUriString();
+    }
+
+    private static ApiResponse batchItem(String data, Throwable ex, long processingTime) {
+        if (ex == null) {
+            return ApiResponse.builder()
+                    .status("success")
+                    .data(data)
+                    .message("Data processed successfully")
+                    .timestamp(LocalDateTime.now())
+                    .processingTimeMs(processingTime)
+                    .build();
+        }
+
+        Throwable cause = unwrap(ex);
+        String message;
+        if (cause instanceof DeadlineExceededException) {
+            message = "Request deadline exceeded";
+        } else if (cause instanceof DependencyRejectedException) {
+            message = "Dependency service is overloaded, call rejected";
+        } else {
+            message = "Failed to fetch data from dependency";
+        }
+        return ApiResponse.builder()
+                .status("error")
+                .message(message)
+                .error(cause.getMessage())
+                .timestamp(LocalDateTime.now())
+                .processingTimeMs(processingTime)
+                .build();
+    }
+
+    private CompletableFuture<String> fetchDataFromDependencyAsync(String url) {
+        CompletableFuture<String> shared = fetchShared(url);
+        if (!RequestDeadline.isPresent()) {
+            return shared;
+        }
+
+        CompletableFuture<String> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<String>> current = new AtomicReference<>(shared);
+
+        // Decorated now, so the retry runs with this request's MDC (and deadline) on whatever thread fails
+        Runnable retry = mdcTaskDecorator.decorate(() -> {
+            if (RequestDeadline.isExpired() || result.isDone()) {
+                result.completeExceptionally(new DeadlineExceededException("Deadline passed waiting for SlowDependency"));
+                return;
+            }
+            log.debug("Shared SlowDependency call hit another request's deadline, retrying with {}ms left",
+                    RequestDeadline.remainingMillis());
+            CompletableFuture<String> retried = fetchShared(url);
+            current.set(retried);
+            retried.whenComplete((data, ex) -> complete(result, data, ex));
+        });
+
+        shared.whenComplete((data, ex) -> {
+            if (ex != null && unwrap(ex) instanceof DeadlineExceededException) {
+                retry.run();
+            } else {
+                complete(result, data, ex);
+            }
+        });
+
+        long remaining = RequestDeadline.remainingMillis();
+        ScheduledFuture<?> timer = requestDeadlineScheduler.schedule(mdcTaskDecorator.decorate(
+                () -> result.completeExceptionally(new DeadlineExceededException(
+                        "Deadline of " + remaining + "ms passed waiting for SlowDependency"))),
+                remaining, TimeUnit.MILLISECONDS);
+
+        // Once the caller gave up (deadline or cancel), drop its view of the shared call;
+        // this does not cancel the call itself
+        result.whenComplete((data, ex) -> {
+            timer.cancel(false);
+            if (ex != null) {
+                current.get().cancel(true);
+            }
+        });
+
+        return result;
+    }
+
+    private CompletableFuture<String> fetchShared(String url) {
+        return dependencyResponseCache.get(url,
+                () -> dependencySingleFlight.execute(url, () -> loadFromDependency(url)));
+    }
+
+    private static void complete(CompletableFuture<String> result, String data, Throwable ex) {
+        if (ex != null) {
+            result.completeExceptionally(unwrap(ex));
+        } else {
+            result.complete(data);
+        }
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+
+    /**
+     * Load fresh data from SlowDependency, hedged: a slow call gets a second
+     * attempt, and the first successful one wins. A failed (hedged) call is
+     * retried if the failure is retryable and the retry budget allows it.
+     * Runs once per coalesced call, so waiters sharing a call share its retries.
+     */
+    private CompletableFuture<String> loadFromDependency(String url) {
+        return dependencyRetrier.execute(() -> dependencyHedger.execute(() -> attemptDependencyCall(url)));
+    }
+
+    /**
+     * Make one attempt through the circuit breaker and either the bulkhead
+     * (blocking client) or the NIO client.
+     */
+    private CompletableFuture<String> attemptDependencyCall(String url) {
+        if (RequestDeadline.isExpired()) {
+            CompletableFuture<String> expired = new CompletableFuture<>();
+            expired.completeExceptionally(new DeadlineExceededException(
+                    "Deadline passed before calling SlowDependency"));
+            return expired;
+        }
+
+        // Checked on the caller thread so an open breaker never costs a thread hop
+        long permit = dependencyCircuitBreaker.tryAcquirePermission();
+        if (permit == CircuitBreaker.NOT_PERMITTED) {
+            CompletableFuture<String> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(new CircuitBreakerOpenException(
+                    dependencyCircuitBreaker.getName(), dependencyCircuitBreaker.getState().name()));
+            return rejected;
+        }
+
+        if (nioDependencyClient != null) {
+            return callDependencyNonBlocking(url, permit);
+        }
+
+        // Whoever sets attempted first owns the permission: the call, or the cleanup below
+        AtomicBoolean attempted = new AtomicBoolean();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicReference<HttpUriRequest> request = new AtomicReference<>();
+        CompletableFuture<String> future = dependencyBulkhead.submit(() -> {
+            // The caller may have given up while this call sat in the bulkhead queue
+            if (RequestDeadline.isExpired()) {
+                throw new DeadlineExceededException("Deadline passed while queued in the bulkhead");
+            }
+            if (!attempted.compareAndSet(false, true)) {
+                throw new CancellationException();
+            }
+            return DeadlineAwareRequestFactory.withRequestListener(created -> {
+                request.set(created);
+                if (cancelled.get()) {
+                    created.abort();
+                }
+            }, () -> callDependency(url, permit, cancelled));
+        });
+
+        future.whenComplete((data, ex) -> {
+            // Cancelling the future (e.g. a losing hedge) aborts the exchange, freeing the thread and connection
+            if (future.isCancelled()) {
+                cancelled.set(true);
+                HttpUriRequest running = request.get();
+                if (running != null) {
+                    running.abort();
+                }
+            }
+            // Calls that never ran (bulkhead full, cancelled while queued) must not hold a probe slot
+            if (attempted.compareAndSet(false, true)) {
+                dependencyCircuitBreaker.releasePermission(permit);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Perform the actual HTTP call on the current (bulkhead) thread, recording
+     * its outcome with the circuit breaker.
+     */
+    private String callDependency(String url, long permit, AtomicBoolean cancelled) {
+        long startTime = System.nanoTime();
         
-        log.debug("Calling SlowDependency at: {}", dependencyServiceUrl);
+        log.debug("Calling SlowDependency at: {}", url);
         
         try {
-            // This is a BLOCKING call - thread waits here
-            @SuppressWarnings("unchecked")
-            Map<String, Object> response = restTemplate.getForObject(
-                    dependencyServiceUrl, 
-                    Map.class
+            // This is a BLOCKING call - thread waits here.
+            // The message is streamed out of the body; no Map is built for the response
+            String message = restTemplate.execute(
+                    url,
+                    HttpMethod.GET,
+                    request -> request.getHeaders().set(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE),
+                    response -> dependencyMessageExtractor.extract(response.getBody())
             );
             
-            long duration = System.currentTimeMillis() - startTime;
-            log.debug("SlowDependency call succeeded - Duration: {}ms", duration);
+            long durationNanos = System.nanoTime() - startTime;
+            dependencyCircuitBreaker.onSuccess(permit, durationNanos);
+            log.debug("SlowDependency call succeeded - Duration: {}ms", durationNanos / 1_000_000);
             
-            if (response != null && response.containsKey("message")) {
-                return (String) response.get("message");
-            } else {
-                return "Data received from SlowDependency";
-            }
+            return messageOrDefault(message);
             
-        } catch (RestClientException e) {
-            long duration = System.currentTimeMillis() - startTime;
+        } catch (RuntimeException e) {
+            long durationNanos = System.nanoTime() - startTime;
+            if (cancelled.get()) {
+                // Aborted because the caller gave up, not a dependency failure
+                dependencyCircuitBreaker.releasePermission(permit);
+                log.debug("SlowDependency call aborted - Duration: {}ms", durationNanos / 1_000_000);
+                throw e;
+            }
+            if (RequestDeadline.isExpired()) {
+                // Timeouts were clamped to the deadline, so this is the caller's budget running out,
+                // not a dependency failure: a tiny X-Request-Timeout-Ms must not open the breaker
+                dependencyCircuitBreaker.releasePermission(permit);
+                log.warn("SlowDependency call hit the request deadline - Duration: {}ms",
+                        durationNanos / 1_000_000);
+                throw new DeadlineExceededException("Deadline passed calling SlowDependency", e);
+            }
+            dependencyCircuitBreaker.onError(permit, durationNanos);
             log.error("SlowDependency call failed - Duration: {}ms - Error: {}", 
-                    duration, e.getMessage());
+                    durationNanos / 1_000_000, e.getMessage());
             throw e;
         }
     }
+
+    /**
+     * Perform the HTTP call on the NIO client; no thread waits for the response.
+     */
+    private CompletableFuture<String> callDependencyNonBlocking(String url, long permit) {
+        long startTime = System.nanoTime();
+
+        log.debug("Calling SlowDependency (nio) at: {}", url);
+
+        // The message is extracted as the body streams in; the body is never buffered whole
+        CompletableFuture<String> exchange = nioDependencyClient.get(url, dependencyMessageExtractor);
+
+        CompletableFuture<String> result = exchange.handle((message, ex) -> {
+            long durationNanos = System.nanoTime() - startTime;
+            long duration = durationNanos / 1_000_000;
+
+            if (ex != null) {
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                if (cause instanceof CancellationException) {
+                    // Cancelled because the caller gave up (e.g. a losing hedge), not a dependency failure
+                    dependencyCircuitBreaker.releasePermission(permit);
+                    log.debug("SlowDependency call cancelled (nio) - Duration: {}ms", duration);
+                    throw (CancellationException) cause;
+                }
+                if (RequestDeadline.isExpired()) {
+                    // The caller's budget ran out, not a dependency failure (see callDependency)
+                    dependencyCircuitBreaker.releasePermission(permit);
+                    log.warn("SlowDependency call hit the request deadline (nio) - Duration: {}ms", duration);
+                    throw new DeadlineExceededException("Deadline passed calling SlowDependency (nio)", cause);
+                }
+                dependencyCircuitBreaker.onError(permit, durationNanos);
+                log.error("SlowDependency call failed (nio) - Duration: {}ms - Error: {}",
+                        duration, cause.getMessage());
+                throw cause instanceof RuntimeException ? (RuntimeException) cause : new CompletionException(cause);
+            }
+
+            dependencyCircuitBreaker.onSuccess(permit, durationNanos);
+            log.debug("SlowDependency call succeeded (nio) - Duration: {}ms", duration);
+
+            return messageOrDefault(message);
+        });
+
+        // Cancelling the result (e.g. a losing hedge) aborts the exchange
+        result.whenComplete((data, ex) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+
+        return result;
+    }
+
+    private String messageOrDefault(String message) {
+        if (message != null) {
+            return message;
+        } else {
+            return "Data received from SlowDependency";
+        }
+    }
 }